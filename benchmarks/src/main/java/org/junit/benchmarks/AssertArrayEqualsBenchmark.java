@@ -0,0 +1,62 @@
+package org.junit.benchmarks;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures comparing equal arrays of primitives.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AssertArrayEqualsBenchmark {
+    @Param({"100", "100000"})
+    public int length;
+
+    private byte[] expectedBytes;
+    private byte[] actualBytes;
+    private int[] expectedInts;
+    private int[] actualInts;
+    private double[] expectedDoubles;
+    private double[] actualDoubles;
+
+    @Setup
+    public void setUp() {
+        expectedBytes = new byte[length];
+        expectedInts = new int[length];
+        expectedDoubles = new double[length];
+        for (int i = 0; i < length; i++) {
+            expectedBytes[i] = (byte) i;
+            expectedInts[i] = i;
+            expectedDoubles[i] = i / 3.0;
+        }
+        actualBytes = expectedBytes.clone();
+        actualInts = expectedInts.clone();
+        actualDoubles = expectedDoubles.clone();
+    }
+
+    @Benchmark
+    public void bytes() {
+        assertArrayEquals(expectedBytes, actualBytes);
+    }
+
+    @Benchmark
+    public void ints() {
+        assertArrayEquals(expectedInts, actualInts);
+    }
+
+    @Benchmark
+    public void doublesWithDelta() {
+        assertArrayEquals(expectedDoubles, actualDoubles, 1e-9);
+    }
+}
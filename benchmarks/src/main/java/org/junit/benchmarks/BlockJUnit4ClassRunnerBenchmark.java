@@ -0,0 +1,108 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures running a class of trivial tests with fixtures and rules, which is
+ * dominated by building the statement chain of each test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockJUnit4ClassRunnerBenchmark {
+    private BlockJUnit4ClassRunner runner;
+
+    @Setup
+    public void setUp() throws InitializationError {
+        runner = new BlockJUnit4ClassRunner(ExampleTest.class);
+    }
+
+    @Benchmark
+    public void runClass() {
+        runner.run(new RunNotifier());
+    }
+
+    public static class ExampleTest {
+        @Rule
+        public TestRule testRule = new TestRule() {
+            public Statement apply(Statement base, Description description) {
+                return base;
+            }
+        };
+
+        @Rule
+        public MethodRule methodRule = new MethodRule() {
+            public Statement apply(Statement base, FrameworkMethod method, Object target) {
+                return base;
+            }
+        };
+
+        @Before
+        public void setUp() {
+        }
+
+        @After
+        public void tearDown() {
+        }
+
+        @Test
+        public void test01() {
+        }
+
+        @Test
+        public void test02() {
+        }
+
+        @Test
+        public void test03() {
+        }
+
+        @Test
+        public void test04() {
+        }
+
+        @Test
+        public void test05() {
+        }
+
+        @Test
+        public void test06() {
+        }
+
+        @Test
+        public void test07() {
+        }
+
+        @Test
+        public void test08() {
+        }
+
+        @Test
+        public void test09() {
+        }
+
+        @Test
+        public void test10() {
+        }
+    }
+}
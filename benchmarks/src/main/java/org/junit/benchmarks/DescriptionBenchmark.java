@@ -0,0 +1,53 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures building a tree of descriptions and counting its tests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DescriptionBenchmark {
+    @Param({"10", "100"})
+    public int classes;
+
+    @Param({"10", "100"})
+    public int methodsPerClass;
+
+    private Description tree;
+
+    @Setup
+    public void setUp() {
+        tree = buildTree();
+    }
+
+    @Benchmark
+    public Description buildTree() {
+        Description suite = Description.createSuiteDescription("suite");
+        for (int i = 0; i < classes; i++) {
+            Description testClass = Description.createSuiteDescription("com.example.Test" + i);
+            for (int j = 0; j < methodsPerClass; j++) {
+                testClass.addChild(Description.createTestDescription(
+                        "com.example.Test" + i, "test" + j));
+            }
+            suite.addChild(testClass);
+        }
+        return suite;
+    }
+
+    @Benchmark
+    public int testCount() {
+        return tree.testCount();
+    }
+}
@@ -0,0 +1,70 @@
+package org.junit.benchmarks;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runners.Parameterized;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures filtering and sorting a large tree of runners. Each invocation
+ * works on a fresh runner, since filtering and sorting modify it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilterSorterBenchmark {
+    @Param({"100", "1000"})
+    public int parameters;
+
+    private Parameterized runner;
+
+    private final Filter filter = new Filter() {
+        @Override
+        public boolean shouldRun(Description description) {
+            String methodName = description.getMethodName();
+            return methodName == null || !methodName.startsWith("second");
+        }
+
+        @Override
+        public String describe() {
+            return "all but second";
+        }
+    };
+
+    private final Sorter sorter = new Sorter(new Comparator<Description>() {
+        public int compare(Description o1, Description o2) {
+            return o2.getDisplayName().compareTo(o1.getDisplayName());
+        }
+    });
+
+    @Setup(Level.Invocation)
+    public void createRunner() throws Throwable {
+        LargeParameterizedTest.parameterCount = parameters;
+        runner = new Parameterized(LargeParameterizedTest.class);
+    }
+
+    @Benchmark
+    public Parameterized filter() throws NoTestsRemainException {
+        filter.apply(runner);
+        return runner;
+    }
+
+    @Benchmark
+    public Parameterized sort() {
+        sorter.apply(runner);
+        return runner;
+    }
+}
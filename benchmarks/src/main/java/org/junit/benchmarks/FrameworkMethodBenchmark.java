@@ -0,0 +1,55 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures invoking a trivial test method through
+ * {@link FrameworkMethod#invokeExplosively(Object, Object...)}, compared to
+ * calling it directly. Run with {@code -prof gc} to see the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameworkMethodBenchmark {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final ExampleTest test = new ExampleTest();
+    private FrameworkMethod method;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = new FrameworkMethod(ExampleTest.class.getMethod("test"));
+    }
+
+    @Benchmark
+    public void directCall() {
+        test.test();
+    }
+
+    @Benchmark
+    public Object invokeWithVarargs() throws Throwable {
+        return method.invokeExplosively(test);
+    }
+
+    @Benchmark
+    public Object invokeWithSharedEmptyArray() throws Throwable {
+        return method.invokeExplosively(test, NO_ARGUMENTS);
+    }
+
+    public static class ExampleTest {
+        private int invocations;
+
+        public void test() {
+            invocations++;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.junit.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * A test class with a configurable number of parameters, used to create large
+ * trees of runners.
+ */
+@RunWith(Parameterized.class)
+public class LargeParameterizedTest {
+    static volatile int parameterCount = 100;
+
+    @Parameters(name = "{index}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<Object[]>(parameterCount);
+        for (int i = 0; i < parameterCount; i++) {
+            parameters.add(new Object[] {i});
+        }
+        return parameters;
+    }
+
+    @Parameter
+    public int value;
+
+    @Test
+    public void first() {
+    }
+
+    @Test
+    public void second() {
+    }
+
+    @Test
+    public void third() {
+    }
+}
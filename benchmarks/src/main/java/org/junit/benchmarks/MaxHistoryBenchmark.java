@@ -0,0 +1,62 @@
+package org.junit.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.experimental.max.MaxHistory;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures loading and saving a {@link MaxHistory} with an entry per test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MaxHistoryBenchmark {
+    @Param({"100", "10000"})
+    public int tests;
+
+    private File file;
+    private MaxHistory history;
+
+    @Setup
+    public void setUp() throws Exception {
+        file = File.createTempFile("max-history", ".ser");
+        file.delete();
+        history = MaxHistory.forFolder(file);
+        RunListener listener = history.listener();
+        for (int i = 0; i < tests; i++) {
+            Description description = Description.createTestDescription(
+                    "com.example.Test" + (i / 100), "test" + i);
+            listener.testStarted(description);
+            listener.testFinished(description);
+        }
+        listener.testRunFinished(new Result());
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public MaxHistory load() {
+        return MaxHistory.forFolder(file);
+    }
+
+    @Benchmark
+    public void save() throws Exception {
+        history.listener().testRunFinished(new Result());
+    }
+}
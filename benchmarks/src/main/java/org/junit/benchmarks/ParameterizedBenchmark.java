@@ -0,0 +1,34 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.Parameterized;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures creating the runner of a parameterized test class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParameterizedBenchmark {
+    @Param({"10", "1000"})
+    public int parameters;
+
+    @Setup
+    public void setUp() {
+        LargeParameterizedTest.parameterCount = parameters;
+    }
+
+    @Benchmark
+    public Parameterized createRunner() throws Throwable {
+        return new Parameterized(LargeParameterizedTest.class);
+    }
+}
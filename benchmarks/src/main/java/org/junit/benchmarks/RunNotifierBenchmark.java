@@ -0,0 +1,68 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures dispatching the events of a single test to a number of listeners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RunNotifierBenchmark {
+    @Param({"1", "10", "100"})
+    public int listeners;
+
+    private final RunNotifier notifier = new RunNotifier();
+    private final Description description =
+            Description.createTestDescription("com.example.Test", "test");
+    private final Failure failure = new Failure(description, new AssertionError());
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        for (int i = 0; i < listeners; i++) {
+            notifier.addListener(new RunListener() {
+                @Override
+                public void testStarted(Description description) {
+                    blackhole.consume(description);
+                }
+
+                @Override
+                public void testFailure(Failure failure) {
+                    blackhole.consume(failure);
+                }
+
+                @Override
+                public void testFinished(Description description) {
+                    blackhole.consume(description);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void passingTest() {
+        notifier.fireTestStarted(description);
+        notifier.fireTestFinished(description);
+    }
+
+    @Benchmark
+    public void failingTest() {
+        notifier.fireTestStarted(description);
+        notifier.fireTestFailure(failure);
+        notifier.fireTestFinished(description);
+    }
+}
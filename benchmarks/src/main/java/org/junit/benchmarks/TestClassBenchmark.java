@@ -0,0 +1,80 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.model.TestClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/**
+ * Measures scanning a test class for its annotated methods and fields.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TestClassBenchmark {
+
+    @Benchmark
+    public TestClass createTestClass() {
+        return new TestClass(ExampleTest.class);
+    }
+
+    public static class ExampleTest {
+        @Rule
+        public TemporaryFolder folder = new TemporaryFolder();
+
+        @Before
+        public void setUp() {
+        }
+
+        @After
+        public void tearDown() {
+        }
+
+        @Test
+        public void test01() {
+        }
+
+        @Test
+        public void test02() {
+        }
+
+        @Test
+        public void test03() {
+        }
+
+        @Test
+        public void test04() {
+        }
+
+        @Test
+        public void test05() {
+        }
+
+        @Test
+        public void test06() {
+        }
+
+        @Test
+        public void test07() {
+        }
+
+        @Test
+        public void test08() {
+        }
+
+        @Test
+        public void test09() {
+        }
+
+        @Test
+        public void test10() {
+        }
+    }
+}
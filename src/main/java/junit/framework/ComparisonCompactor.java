@@ -1,5 +1,7 @@
 package junit.framework;
 
+import org.junit.internal.ComparisonMessages;
+
 public class ComparisonCompactor {
 
     private static final String ELLIPSIS = "...";
@@ -32,7 +34,9 @@ public class ComparisonCompactor {
     }
 
     private String compactString(String source) {
-        String result = DELTA_START + source.substring(fPrefix, source.length() - fSuffix + 1) + DELTA_END;
+        StringBuilder delta = new StringBuilder(DELTA_START);
+        ComparisonMessages.appendAbbreviated(delta, source, fPrefix, source.length() - fSuffix + 1);
+        String result = delta.append(DELTA_END).toString();
         if (fPrefix > 0) {
             result = computeCommonPrefix() + result;
         }
@@ -0,0 +1,180 @@
+package junit.framework;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runner.Description;
+
+/**
+ * A {@link JUnit4TestAdapterCache} that can be used by many threads at once,
+ * for example when the events of a parallel run are reported to a JUnit 3
+ * {@link TestResult}. The tests are kept in a {@link ConcurrentHashMap}, so
+ * callers do not contend for a global lock.
+ *
+ * <p>The cache only holds weak references to its tests, so it does not grow
+ * with the tests that are no longer used. A test is kept as long as someone
+ * refers to it; only then can its identity matter, so callers always get the
+ * same test for a description.
+ *
+ * <p>The views returned by {@link #keySet()}, {@link #values()} and
+ * {@link #entrySet()} are unmodifiable snapshots. The methods that Java 8
+ * added to {@link Map}, such as {@code computeIfAbsent}, cannot be overridden
+ * by this class, which is compiled for Java 5; they do not see the cached
+ * tests and must not be used.
+ *
+ * @since 4.13
+ */
+public class ConcurrentJUnit4TestAdapterCache extends JUnit4TestAdapterCache {
+    private static final long serialVersionUID = 1L;
+
+    private final ConcurrentMap<Description, TestReference> tests =
+            new ConcurrentHashMap<Description, TestReference>();
+
+    private transient ReferenceQueue<Test> collectedTests = new ReferenceQueue<Test>();
+
+    @Override
+    public Test asTest(Description description) {
+        if (description.isSuite()) {
+            return createTest(description);
+        }
+        Test test = get(description);
+        if (test != null) {
+            return test;
+        }
+        // create the test before publishing it; it creates the tests of its children
+        Test newTest = createTest(description);
+        TestReference newReference = new TestReference(description, newTest, collectedTests);
+        while (true) {
+            TestReference reference = tests.putIfAbsent(description, newReference);
+            if (reference == null) {
+                return newTest;
+            }
+            test = reference.get();
+            if (test != null) {
+                return test;
+            }
+            tests.remove(description, reference);
+        }
+    }
+
+    @Override
+    public Test get(Object key) {
+        expungeCollectedTests();
+        TestReference reference = tests.get(key);
+        return reference == null ? null : reference.get();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return values().contains(value);
+    }
+
+    @Override
+    public Test put(Description key, Test value) {
+        expungeCollectedTests();
+        TestReference previous = tests.put(key, new TestReference(key, value, collectedTests));
+        return previous == null ? null : previous.get();
+    }
+
+    @Override
+    public void putAll(Map<? extends Description, ? extends Test> map) {
+        for (Map.Entry<? extends Description, ? extends Test> each : map.entrySet()) {
+            put(each.getKey(), each.getValue());
+        }
+    }
+
+    @Override
+    public Test remove(Object key) {
+        expungeCollectedTests();
+        TestReference previous = tests.remove(key);
+        return previous == null ? null : previous.get();
+    }
+
+    @Override
+    public int size() {
+        return snapshot().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot().isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        tests.clear();
+    }
+
+    @Override
+    public Set<Description> keySet() {
+        return Collections.unmodifiableSet(snapshot().keySet());
+    }
+
+    @Override
+    public Collection<Test> values() {
+        return Collections.unmodifiableCollection(snapshot().values());
+    }
+
+    @Override
+    public Set<Map.Entry<Description, Test>> entrySet() {
+        return Collections.unmodifiableSet(snapshot().entrySet());
+    }
+
+    @Override
+    public Object clone() {
+        ConcurrentJUnit4TestAdapterCache clone = new ConcurrentJUnit4TestAdapterCache();
+        clone.putAll(snapshot());
+        return clone;
+    }
+
+    /**
+     * Returns the tests that have not been collected.
+     */
+    private Map<Description, Test> snapshot() {
+        expungeCollectedTests();
+        Map<Description, Test> snapshot = new HashMap<Description, Test>();
+        for (Map.Entry<Description, TestReference> each : tests.entrySet()) {
+            Test test = each.getValue().get();
+            if (test != null) {
+                snapshot.put(each.getKey(), test);
+            }
+        }
+        return snapshot;
+    }
+
+    private void expungeCollectedTests() {
+        Reference<? extends Test> reference;
+        while ((reference = collectedTests.poll()) != null) {
+            tests.remove(((TestReference) reference).description, reference);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        collectedTests = new ReferenceQueue<Test>();
+    }
+
+    private static class TestReference extends WeakReference<Test> {
+        final Description description;
+
+        TestReference(Description description, Test test, ReferenceQueue<Test> queue) {
+            super(test, queue);
+            this.description = description;
+        }
+    }
+}
@@ -20,6 +20,8 @@ public class JUnit4TestAdapter implements Test, Filterable, Sortable, Describabl
 
     private final JUnit4TestAdapterCache fCache;
 
+    private Description fDescription;
+
     public JUnit4TestAdapter(Class<?> newTestClass) {
         this(newTestClass, JUnit4TestAdapterCache.getDefault());
     }
@@ -48,9 +50,16 @@ public class JUnit4TestAdapter implements Test, Filterable, Sortable, Describabl
         return fNewTestClass;
     }
 
-    public Description getDescription() {
-        Description description = fRunner.getDescription();
-        return removeIgnored(description);
+    /**
+     * Returns the description of the tests without the ignored ones. The
+     * description is computed once and shared until the tests are filtered or
+     * sorted; it is {@link Description#unmodifiableCopy() unmodifiable}.
+     */
+    public synchronized Description getDescription() {
+        if (fDescription == null) {
+            fDescription = removeIgnored(fRunner.getDescription()).unmodifiableCopy();
+        }
+        return fDescription;
     }
 
     private Description removeIgnored(Description description) {
@@ -76,11 +85,16 @@ public class JUnit4TestAdapter implements Test, Filterable, Sortable, Describabl
         return fNewTestClass.getName();
     }
 
-    public void filter(Filter filter) throws NoTestsRemainException {
-        filter.apply(fRunner);
+    public synchronized void filter(Filter filter) throws NoTestsRemainException {
+        try {
+            filter.apply(fRunner);
+        } finally {
+            fDescription = null;
+        }
     }
 
-    public void sort(Sorter sorter) {
+    public synchronized void sort(Sorter sorter) {
         sorter.apply(fRunner);
+        fDescription = null;
     }
 }
\ No newline at end of file
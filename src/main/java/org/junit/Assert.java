@@ -1,10 +1,19 @@
 package org.junit;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
 import org.hamcrest.Matcher;
 import org.hamcrest.MatcherAssert;
 import org.junit.internal.ArrayComparisonFailure;
+import org.junit.internal.ComparisonMessages;
+import org.junit.internal.ContentComparison;
 import org.junit.internal.ExactComparisonCriteria;
 import org.junit.internal.InexactComparisonCriteria;
+import org.junit.internal.LazyAssertionError;
 
 /**
  * A set of assertion methods useful for writing tests. Only failed assertions
@@ -18,6 +27,12 @@ import org.junit.internal.InexactComparisonCriteria;
  *    assertEquals(...);
  * </pre>
  *
+ * <p>The messages of failed equality assertions show at most 10000 characters
+ * of each value, around the first character that differs. Larger values are
+ * abbreviated with "...". The limit can be changed with the
+ * {@code junit.maxValueLength} system property; a negative limit shows values
+ * in full.
+ *
  * @see AssertionError
  * @since 4.0
  */
@@ -177,13 +192,7 @@ public class Assert {
     }
 
     private static void failEquals(String message, Object actual) {
-        String formatted = "Values should be different. ";
-        if (message != null) {
-            formatted = message + ". ";
-        }
-
-        formatted += "Actual: " + actual;
-        fail(formatted);
+        throw new ValuesEqualError(message, actual);
     }
 
     /**
@@ -515,6 +524,114 @@ public class Assert {
         assertArrayEquals(null, expecteds, actuals, delta);
     }
 
+    /**
+     * Asserts that the remaining bytes of two buffers are equal. If they are
+     * not, an {@link AssertionError} is thrown with the given message,
+     * reporting the offset of the first differing byte. The positions and
+     * limits of the buffers are not modified. If <code>expected</code> and
+     * <code>actual</code> are <code>null</code>, they are considered equal.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected buffer with expected content
+     * @param actual buffer with actual content
+     * @since 4.13
+     */
+    public static void assertContentEquals(String message, ByteBuffer expected,
+            ByteBuffer actual) {
+        new ContentComparison().assertContentEquals(message, expected, actual);
+    }
+
+    /**
+     * Asserts that the remaining bytes of two buffers are equal. If they are
+     * not, an {@link AssertionError} is thrown.
+     *
+     * @param expected buffer with expected content
+     * @param actual buffer with actual content
+     * @since 4.13
+     */
+    public static void assertContentEquals(ByteBuffer expected, ByteBuffer actual) {
+        assertContentEquals(null, expected, actual);
+    }
+
+    /**
+     * Asserts that the entire contents of two file channels are equal. If they
+     * are not, an {@link AssertionError} is thrown with the given message,
+     * reporting the offset of the first differing byte. The contents are read
+     * window by window with positional reads into a reused direct buffer, so
+     * they are never loaded onto the heap. The positions of the channels are
+     * not modified.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected channel with expected content
+     * @param actual channel with actual content
+     * @throws IOException if either channel cannot be read
+     * @since 4.13
+     */
+    public static void assertContentEquals(String message, FileChannel expected,
+            FileChannel actual) throws IOException {
+        new ContentComparison().assertContentEquals(message, expected, actual);
+    }
+
+    /**
+     * Asserts that the entire contents of two file channels are equal. If they
+     * are not, an {@link AssertionError} is thrown.
+     *
+     * @param expected channel with expected content
+     * @param actual channel with actual content
+     * @throws IOException if either channel cannot be read
+     * @since 4.13
+     */
+    public static void assertContentEquals(FileChannel expected, FileChannel actual)
+            throws IOException {
+        assertContentEquals(null, expected, actual);
+    }
+
+    /**
+     * Asserts that the contents of two files are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, reporting the
+     * offset of the first differing byte. The contents are read window by
+     * window with positional reads into a reused direct buffer, so they are
+     * never loaded onto the heap.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected file with expected content
+     * @param actual file with actual content
+     * @throws IOException if either file cannot be read
+     * @since 4.13
+     */
+    public static void assertContentEquals(String message, File expected,
+            File actual) throws IOException {
+        FileInputStream expectedStream = new FileInputStream(expected);
+        try {
+            FileInputStream actualStream = new FileInputStream(actual);
+            try {
+                assertContentEquals(message, expectedStream.getChannel(),
+                        actualStream.getChannel());
+            } finally {
+                actualStream.close();
+            }
+        } finally {
+            expectedStream.close();
+        }
+    }
+
+    /**
+     * Asserts that the contents of two files are equal. If they are not, an
+     * {@link AssertionError} is thrown.
+     *
+     * @param expected file with expected content
+     * @param actual file with actual content
+     * @throws IOException if either file cannot be read
+     * @since 4.13
+     */
+    public static void assertContentEquals(File expected, File actual)
+            throws IOException {
+        assertContentEquals(null, expected, actual);
+    }
+
     /**
      * Asserts that two object arrays are equal. If they are not, an
      * {@link AssertionError} is thrown with the given message. If
@@ -831,29 +948,66 @@ public class Assert {
 
     private static void failNotEquals(String message, Object expected,
             Object actual) {
-        fail(format(message, expected, actual));
+        throw new ValuesNotEqualError(message, expected, actual);
     }
 
     static String format(String message, Object expected, Object actual) {
-        String formatted = "";
-        if (message != null && !"".equals(message)) {
-            formatted = message + " ";
+        return ComparisonMessages.format(message, expected, actual, -1);
+    }
+
+    /**
+     * Thrown when two values are not equal. The message is rendered when it is
+     * first requested, so that values with expensive string forms are only
+     * converted if the failure is actually reported.
+     */
+    private static class ValuesNotEqualError extends LazyAssertionError {
+        private static final long serialVersionUID = 1L;
+
+        private final String fMessage;
+        private transient Object fExpected;
+        private transient Object fActual;
+
+        ValuesNotEqualError(String message, Object expected, Object actual) {
+            fMessage = message;
+            fExpected = ComparisonMessages.capture(expected);
+            fActual = ComparisonMessages.capture(actual);
         }
-        String expectedString = String.valueOf(expected);
-        String actualString = String.valueOf(actual);
-        if (expectedString.equals(actualString)) {
-            return formatted + "expected: "
-                    + formatClassAndValue(expected, expectedString)
-                    + " but was: " + formatClassAndValue(actual, actualString);
-        } else {
-            return formatted + "expected:<" + expectedString + "> but was:<"
-                    + actualString + ">";
+
+        @Override
+        protected String createMessage() {
+            String formatted = ComparisonMessages.format(fMessage, fExpected, fActual);
+            fExpected = null;
+            fActual = null;
+            return formatted;
         }
     }
 
-    private static String formatClassAndValue(Object value, String valueString) {
-        String className = value == null ? "null" : value.getClass().getName();
-        return className + "<" + valueString + ">";
+    /**
+     * Thrown when two values are equal but should be different. The message is
+     * rendered when it is first requested.
+     */
+    private static class ValuesEqualError extends LazyAssertionError {
+        private static final long serialVersionUID = 1L;
+
+        private final String fMessage;
+        private transient Object fActual;
+
+        ValuesEqualError(String message, Object actual) {
+            fMessage = message;
+            fActual = ComparisonMessages.capture(actual);
+        }
+
+        @Override
+        protected String createMessage() {
+            String formatted = "Values should be different. ";
+            if (fMessage != null) {
+                formatted = fMessage + ". ";
+            }
+            formatted += "Actual: "
+                    + ComparisonMessages.abbreviate(String.valueOf(fActual), 0);
+            fActual = null;
+            return formatted;
+        }
     }
 
     /**
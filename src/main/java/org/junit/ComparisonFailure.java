@@ -1,5 +1,7 @@
 package org.junit;
 
+import org.junit.internal.ComparisonMessages;
+
 /**
  * Thrown when an {@link org.junit.Assert#assertEquals(Object, Object) assertEquals(String, String)} fails.
  * Create and throw a <code>ComparisonFailure</code> manually if you want to show users the
@@ -94,7 +96,7 @@ public class ComparisonFailure extends AssertionError {
 
         public String compact(String message) {
             if (expected == null || actual == null || expected.equals(actual)) {
-                return Assert.format(message, expected, actual);
+                return ComparisonMessages.format(message, expected, actual);
             } else {
                 DiffExtractor extractor = new DiffExtractor();
                 String compactedPrefix = extractor.compactPrefix();
@@ -105,39 +107,37 @@ public class ComparisonFailure extends AssertionError {
             }
         }
 
-        private String sharedPrefix() {
-            int end = Math.min(expected.length(), actual.length());
-            for (int i = 0; i < end; i++) {
-                if (expected.charAt(i) != actual.charAt(i)) {
-                    return expected.substring(0, i);
-                }
-            }
-            return expected.substring(0, end);
+        private int sharedPrefixLength() {
+            return ComparisonMessages.sharedPrefixLength(expected, actual);
         }
 
-        private String sharedSuffix(String prefix) {
+        private int sharedSuffixLength(int prefixLength) {
             int suffixLength = 0;
-            int maxSuffixLength = Math.min(expected.length() - prefix.length(),
-                    actual.length() - prefix.length()) - 1;
+            int maxSuffixLength = Math.min(expected.length() - prefixLength,
+                    actual.length() - prefixLength) - 1;
             for (; suffixLength <= maxSuffixLength; suffixLength++) {
                 if (expected.charAt(expected.length() - 1 - suffixLength)
                         != actual.charAt(actual.length() - 1 - suffixLength)) {
                     break;
                 }
             }
-            return expected.substring(expected.length() - suffixLength);
+            return suffixLength;
         }
 
+        /**
+         * Works on the lengths of the shared prefix and suffix only, so that
+         * no more than the compacted parts of the strings are copied.
+         */
         private class DiffExtractor {
-            private final String sharedPrefix;
-            private final String sharedSuffix;
+            private final int sharedPrefixLength;
+            private final int sharedSuffixLength;
 
             /**
              * Can not be instantiated outside {@link org.junit.ComparisonFailure.ComparisonCompactor}.
              */
             private DiffExtractor() {
-                sharedPrefix = sharedPrefix();
-                sharedSuffix = sharedSuffix(sharedPrefix);
+                sharedPrefixLength = sharedPrefixLength();
+                sharedSuffixLength = sharedSuffixLength(sharedPrefixLength);
             }
 
             public String expectedDiff() {
@@ -149,22 +149,25 @@ public class ComparisonFailure extends AssertionError {
             }
 
             public String compactPrefix() {
-                if (sharedPrefix.length() <= contextLength) {
-                    return sharedPrefix;
+                if (sharedPrefixLength <= contextLength) {
+                    return expected.substring(0, sharedPrefixLength);
                 }
-                return ELLIPSIS + sharedPrefix.substring(sharedPrefix.length() - contextLength);
+                return ELLIPSIS + expected.substring(sharedPrefixLength - contextLength, sharedPrefixLength);
             }
 
             public String compactSuffix() {
-                if (sharedSuffix.length() <= contextLength) {
-                    return sharedSuffix;
+                int suffixStart = expected.length() - sharedSuffixLength;
+                if (sharedSuffixLength <= contextLength) {
+                    return expected.substring(suffixStart);
                 }
-                return sharedSuffix.substring(0, contextLength) + ELLIPSIS;
+                return expected.substring(suffixStart, suffixStart + contextLength) + ELLIPSIS;
             }
 
             private String extractDiff(String source) {
-                return DIFF_START + source.substring(sharedPrefix.length(), source.length() - sharedSuffix.length())
-                        + DIFF_END;
+                StringBuilder sb = new StringBuilder(DIFF_START);
+                ComparisonMessages.appendAbbreviated(sb, source,
+                        sharedPrefixLength, source.length() - sharedSuffixLength);
+                return sb.append(DIFF_END).toString();
             }
         }
     }
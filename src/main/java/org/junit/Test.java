@@ -93,6 +93,12 @@ public @interface Test {
      * <b>Consider using the {@link org.junit.rules.Timeout} rule instead</b>, which ensures a test method is run on the
      * same thread as the fixture's @Before and @After methods.
      * </p>
+     * <p>
+     * If the <code>junit.timeout.sharedWatchdog</code> system property is <code>true</code>, test methods
+     * with a timeout parameter run on the calling thread instead, and a single watchdog thread shared by
+     * all tests interrupts a test once it times out. A test that ignores the interrupt keeps running
+     * until it returns on its own.
+     * </p>
      */
     long timeout() default 0L;
 }
@@ -0,0 +1,235 @@
+package org.junit.experimental;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * Records a timeline of a test run and writes it in the Trace Event Format,
+ * which can be opened in {@code chrome://tracing} or Perfetto. Each test is
+ * shown as a span on the thread that ran it.
+ *
+ * <p>Used together with a {@link ParallelComputer} created with
+ * {@link ParallelComputer#ParallelComputer(boolean, boolean, ChromeTraceListener)},
+ * the timeline also shows a span for each scheduled child, which for a class
+ * includes its {@code @BeforeClass} and {@code @AfterClass} methods, and a span
+ * for the time a runner waited for its children to finish.
+ *
+ * @since 4.13
+ */
+@RunListener.ThreadSafe
+public class ChromeTraceListener extends RunListener {
+    private final File traceFile;
+    private final long startNanos = System.nanoTime();
+    private final Queue<Event> events = new ConcurrentLinkedQueue<Event>();
+    private final ConcurrentMap<Long, String> threadNames = new ConcurrentHashMap<Long, String>();
+    private final ConcurrentMap<Description, Long> testStarts =
+            new ConcurrentHashMap<Description, Long>();
+    private final ConcurrentMap<Description, String> testResults =
+            new ConcurrentHashMap<Description, String>();
+
+    /**
+     * @param traceFile the file the trace is written to when the run finishes,
+     * or {@code null} to only write it with {@link #writeTo(Writer)}
+     */
+    public ChromeTraceListener(File traceFile) {
+        this.traceFile = traceFile;
+    }
+
+    @Override
+    public void testStarted(Description description) {
+        testStarts.put(description, now());
+    }
+
+    @Override
+    public void testFailure(Failure failure) {
+        testResults.put(failure.getDescription(), "failed");
+    }
+
+    @Override
+    public void testAssumptionFailure(Failure failure) {
+        testResults.put(failure.getDescription(), "skipped");
+    }
+
+    @Override
+    public void testFinished(Description description) {
+        Long start = testStarts.remove(description);
+        if (start != null) {
+            String result = testResults.remove(description);
+            record("test", description.getDisplayName(), start, now() - start,
+                    result == null ? "passed" : result);
+        }
+    }
+
+    @Override
+    public void testIgnored(Description description) {
+        record("test", description.getDisplayName(), now(), 0, "ignored");
+    }
+
+    @Override
+    public void testRunFinished(Result result) throws IOException {
+        if (traceFile != null) {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(traceFile), "UTF-8");
+            try {
+                writeTo(writer);
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Returns a scheduler that runs the children of {@code runner} with
+     * {@code scheduler} and records a span for each child and for the wait in
+     * {@link RunnerScheduler#finished()}.
+     */
+    public RunnerScheduler trace(ParentRunner<?> runner, RunnerScheduler scheduler) {
+        return new TracingScheduler(runner, scheduler);
+    }
+
+    /**
+     * Writes the events recorded so far as a JSON trace.
+     */
+    public void writeTo(Writer writer) throws IOException {
+        writer.write("{\"traceEvents\":[");
+        boolean first = true;
+        for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+            first = separate(writer, first);
+            writer.write("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":1,\"tid\":"
+                    + thread.getKey() + ",\"args\":{\"name\":" + quote(thread.getValue()) + "}}");
+        }
+        for (Event event : events) {
+            first = separate(writer, first);
+            event.writeTo(writer);
+        }
+        writer.write("],\"displayTimeUnit\":\"ms\"}");
+        writer.flush();
+    }
+
+    private static boolean separate(Writer writer, boolean first) throws IOException {
+        if (!first) {
+            writer.write(",\n");
+        }
+        return false;
+    }
+
+    private long now() {
+        return (System.nanoTime() - startNanos) / 1000;
+    }
+
+    private void record(String category, String name, long startMicros, long durationMicros,
+            String result) {
+        Thread thread = Thread.currentThread();
+        threadNames.putIfAbsent(thread.getId(), thread.getName());
+        events.add(new Event(category, name, thread.getId(), startMicros, durationMicros, result));
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static class Event {
+        private final String category;
+        private final String name;
+        private final long threadId;
+        private final long startMicros;
+        private final long durationMicros;
+        private final String result;
+
+        Event(String category, String name, long threadId, long startMicros,
+                long durationMicros, String result) {
+            this.category = category;
+            this.name = name;
+            this.threadId = threadId;
+            this.startMicros = startMicros;
+            this.durationMicros = durationMicros;
+            this.result = result;
+        }
+
+        void writeTo(Writer writer) throws IOException {
+            writer.write("{\"ph\":\"X\",\"cat\":\"" + category + "\",\"name\":" + quote(name)
+                    + ",\"pid\":1,\"tid\":" + threadId + ",\"ts\":" + startMicros
+                    + ",\"dur\":" + durationMicros);
+            if (result != null) {
+                writer.write(",\"args\":{\"result\":\"" + result + "\"}");
+            }
+            writer.write('}');
+        }
+    }
+
+    private class TracingScheduler implements RunnerScheduler {
+        private final ParentRunner<?> runner;
+        private final RunnerScheduler delegate;
+        private final AtomicInteger scheduled = new AtomicInteger();
+        private volatile List<Description> children;
+        private volatile String runnerName;
+
+        TracingScheduler(ParentRunner<?> runner, RunnerScheduler delegate) {
+            this.runner = runner;
+            this.delegate = delegate;
+        }
+
+        public void schedule(final Runnable childStatement) {
+            if (children == null) {
+                // the children are scheduled in the order of the description
+                Description description = runner.getDescription();
+                runnerName = description.getDisplayName();
+                children = new ArrayList<Description>(description.getChildren());
+            }
+            int index = scheduled.getAndIncrement();
+            final String name = index < children.size()
+                    ? children.get(index).getDisplayName() : runnerName;
+            delegate.schedule(new Runnable() {
+                public void run() {
+                    long start = now();
+                    try {
+                        childStatement.run();
+                    } finally {
+                        record("child", name, start, now() - start, null);
+                    }
+                }
+            });
+        }
+
+        public void finished() {
+            long start = now();
+            try {
+                delegate.finished();
+            } finally {
+                String name = runnerName != null
+                        ? runnerName : runner.getDescription().getDisplayName();
+                record("scheduler", "awaiting children of " + name, start, now() - start, null);
+                children = null;
+                scheduled.set(0);
+            }
+        }
+    }
+}
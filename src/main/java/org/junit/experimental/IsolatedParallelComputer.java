@@ -0,0 +1,112 @@
+package org.junit.experimental;
+
+import org.junit.internal.IsolatedClassLoader;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.RunnerBuilder;
+
+/**
+ * A {@link ParallelComputer} that runs test classes in parallel, each group of
+ * classes loaded by its own {@link IsolatedClassLoader}. Classes of different
+ * groups have their own copies of static state, so classes that would
+ * interfere with each other through static fields can run in parallel in one
+ * JVM. JUnit and Hamcrest are shared by all groups.
+ *
+ * <p>While the classes of a group run, the context class loader of the
+ * running threads is the class loader of the group.
+ *
+ * @since 4.13
+ */
+public class IsolatedParallelComputer extends ParallelComputer {
+    private final int classesPerClassLoader;
+
+    private IsolatedClassLoader classLoader;
+
+    private int classesInClassLoader;
+
+    /**
+     * Creates a computer that loads each test class by its own class loader.
+     *
+     * @param methods whether the methods of each class run in parallel as well
+     */
+    public IsolatedParallelComputer(boolean methods) {
+        this(methods, 1);
+    }
+
+    /**
+     * Creates a computer that loads groups of {@code classesPerClassLoader}
+     * consecutive test classes by their own class loader.
+     *
+     * @param methods whether the methods of each class run in parallel as well
+     */
+    public IsolatedParallelComputer(boolean methods, int classesPerClassLoader) {
+        super(true, methods);
+        if (classesPerClassLoader <= 0) {
+            throw new IllegalArgumentException("classesPerClassLoader must be positive");
+        }
+        this.classesPerClassLoader = classesPerClassLoader;
+    }
+
+    @Override
+    protected Runner getRunner(RunnerBuilder builder, Class<?> testClass) throws Throwable {
+        ClassLoader loader = nextClassLoader();
+        Class<?> isolatedClass = Class.forName(testClass.getName(), false, loader);
+        return new ContextClassLoaderRunner(super.getRunner(builder, isolatedClass), loader);
+    }
+
+    private synchronized ClassLoader nextClassLoader() {
+        if (classLoader == null || classesInClassLoader == classesPerClassLoader) {
+            classLoader = new IsolatedClassLoader(IsolatedParallelComputer.class.getClassLoader());
+            classesInClassLoader = 0;
+        }
+        classesInClassLoader++;
+        return classLoader;
+    }
+
+    private static class ContextClassLoaderRunner extends Runner implements Filterable, Sortable {
+        private final Runner runner;
+
+        private final ClassLoader classLoader;
+
+        ContextClassLoaderRunner(Runner runner, ClassLoader classLoader) {
+            this.runner = runner;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public Description getDescription() {
+            return runner.getDescription();
+        }
+
+        @Override
+        public int testCount() {
+            return runner.testCount();
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            Thread thread = Thread.currentThread();
+            ClassLoader contextClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(classLoader);
+            try {
+                runner.run(notifier);
+            } finally {
+                thread.setContextClassLoader(contextClassLoader);
+            }
+        }
+
+        public void filter(Filter filter) throws NoTestsRemainException {
+            filter.apply(runner);
+        }
+
+        public void sort(Sorter sorter) {
+            sorter.apply(runner);
+        }
+    }
+}
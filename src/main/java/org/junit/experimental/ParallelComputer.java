@@ -16,9 +16,23 @@ public class ParallelComputer extends Computer {
 
     private final boolean methods;
 
+    private final ChromeTraceListener trace;
+
     public ParallelComputer(boolean classes, boolean methods) {
+        this(classes, methods, null);
+    }
+
+    /**
+     * Creates a computer whose schedulers record their children and waits in
+     * the given trace. The trace should also be added as a listener to the
+     * run, in order to record the tests themselves.
+     *
+     * @since 4.13
+     */
+    public ParallelComputer(boolean classes, boolean methods, ChromeTraceListener trace) {
         this.classes = classes;
         this.methods = methods;
+        this.trace = trace;
     }
 
     public static Computer classes() {
@@ -29,9 +43,9 @@ public class ParallelComputer extends Computer {
         return new ParallelComputer(false, true);
     }
 
-    private static Runner parallelize(Runner runner) {
+    private Runner parallelize(Runner runner) {
         if (runner instanceof ParentRunner) {
-            ((ParentRunner<?>) runner).setScheduler(new RunnerScheduler() {
+            setScheduler((ParentRunner<?>) runner, new RunnerScheduler() {
                 private final ExecutorService fService = Executors.newCachedThreadPool();
 
                 public void schedule(Runnable childStatement) {
@@ -51,17 +65,35 @@ public class ParallelComputer extends Computer {
         return runner;
     }
 
+    private Runner serialize(Runner runner) {
+        if (trace != null && runner instanceof ParentRunner) {
+            setScheduler((ParentRunner<?>) runner, new RunnerScheduler() {
+                public void schedule(Runnable childStatement) {
+                    childStatement.run();
+                }
+
+                public void finished() {
+                }
+            });
+        }
+        return runner;
+    }
+
+    private void setScheduler(ParentRunner<?> runner, RunnerScheduler scheduler) {
+        runner.setScheduler(trace == null ? scheduler : trace.trace(runner, scheduler));
+    }
+
     @Override
     public Runner getSuite(RunnerBuilder builder, java.lang.Class<?>[] classes)
             throws InitializationError {
         Runner suite = super.getSuite(builder, classes);
-        return this.classes ? parallelize(suite) : suite;
+        return this.classes ? parallelize(suite) : serialize(suite);
     }
 
     @Override
     protected Runner getRunner(RunnerBuilder builder, Class<?> testClass)
             throws Throwable {
         Runner runner = super.getRunner(builder, testClass);
-        return methods ? parallelize(runner) : runner;
+        return methods ? parallelize(runner) : serialize(runner);
     }
 }
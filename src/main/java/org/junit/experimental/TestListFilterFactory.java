@@ -0,0 +1,68 @@
+package org.junit.experimental;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.Description;
+import org.junit.runner.FilterFactory;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * Creates a filter that only runs the tests listed in a file, for example the
+ * tests that failed in an earlier run. The argument is the path of the file,
+ * which lists a test per line, either as its display name, such as
+ * {@code testMethod(com.example.SomeTest)}, or as
+ * {@code com.example.SomeTest#testMethod}. Empty lines and lines starting with
+ * {@code #} are ignored. For example:
+ *
+ * <pre>
+ * --filter=org.junit.experimental.TestListFilterFactory=failed-tests.txt
+ * </pre>
+ *
+ * <p>The filter is created by {@link Filter#matchMethodDescriptions}, so it
+ * applies in a single pass however many tests are listed.
+ *
+ * @since 4.13
+ */
+public class TestListFilterFactory implements FilterFactory {
+    public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
+        try {
+            return Filter.matchMethodDescriptions(readTests(new File(params.getArgs())));
+        } catch (IOException e) {
+            throw new FilterNotCreatedException(e);
+        }
+    }
+
+    private static List<Description> readTests(File file) throws IOException {
+        List<Description> tests = new ArrayList<Description>();
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() > 0 && !line.startsWith("#")) {
+                    tests.add(parseTest(line));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return tests;
+    }
+
+    private static Description parseTest(String test) {
+        int separator = test.lastIndexOf('#');
+        if (separator > 0) {
+            return Description.createTestDescription(
+                    test.substring(0, separator), test.substring(separator + 1));
+        }
+        return Description.createSuiteDescription(test);
+    }
+}
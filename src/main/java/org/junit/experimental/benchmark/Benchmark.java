@@ -0,0 +1,47 @@
+package org.junit.experimental.benchmark;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks methods that should be measured as benchmarks by the
+ * {@link BenchmarkRunner} runner. A benchmark method is a public void instance
+ * method that takes no parameters or a single {@link Blackhole}.
+ *
+ * @see BenchmarkRunner
+ * @since 4.13
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(METHOD)
+public @interface Benchmark {
+    /**
+     * The number of iterations run before measuring, so that the code under
+     * test is loaded and compiled.
+     */
+    int warmupIterations() default 5;
+
+    /**
+     * The number of measured iterations.
+     */
+    int iterations() default 10;
+
+    /**
+     * The number of times the method is invoked in each iteration.
+     */
+    int operations() default 1000;
+
+    /**
+     * The number of fresh JVMs the benchmark is run in, or {@code 0} to run it
+     * in the JVM running the tests.
+     */
+    int forks() default 0;
+
+    /**
+     * The mean time per operation in nanoseconds above which the benchmark
+     * fails, or {@code 0} for no limit.
+     */
+    long maxMeanNanos() default 0;
+}
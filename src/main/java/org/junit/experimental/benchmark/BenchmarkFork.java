@@ -0,0 +1,34 @@
+package org.junit.experimental.benchmark;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+
+/**
+ * Entry point of the JVMs forked by {@link BenchmarkRunner}. Runs a single
+ * benchmark, which prints its samples to the standard output, and exits with
+ * a non-zero status if it failed. Not intended to be used directly.
+ *
+ * @since 4.13
+ */
+public final class BenchmarkFork {
+    private BenchmarkFork() {
+    }
+
+    /**
+     * @param args the name of the test class and of the benchmark method
+     */
+    public static void main(String... args) throws ClassNotFoundException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkFork <class> <method>");
+            System.exit(2);
+        }
+        System.setProperty(BenchmarkRunner.FORKED_PROPERTY, "true");
+        Result result = new JUnitCore().run(Request.method(Class.forName(args[0]), args[1]));
+        for (Failure failure : result.getFailures()) {
+            System.err.println(failure.getTrace());
+        }
+        System.exit(result.wasSuccessful() && result.getRunCount() == 1 ? 0 : 1);
+    }
+}
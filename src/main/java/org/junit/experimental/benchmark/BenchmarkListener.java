@@ -0,0 +1,34 @@
+package org.junit.experimental.benchmark;
+
+import org.junit.runner.Description;
+
+/**
+ * Receives the results of the benchmarks run by a {@link BenchmarkRunner} it
+ * has been added to.
+ *
+ * <pre>
+ * BenchmarkRunner runner = new BenchmarkRunner(StringBuilderBenchmarks.class);
+ * runner.addListener(new BenchmarkListener() {
+ *     &#064;Override
+ *     public void benchmarkFinished(Description description, BenchmarkResult result) {
+ *         System.out.println(description + ": " + result);
+ *     }
+ * });
+ * new JUnitCore().run(runner);
+ * </pre>
+ *
+ * @see BenchmarkRunner#addListener(BenchmarkListener)
+ * @since 4.13
+ */
+public class BenchmarkListener {
+    /**
+     * Called when a benchmark has been measured, before it is checked against
+     * its limit. An exception thrown by this method fails the benchmark.
+     *
+     * @param description the description of the benchmark
+     * @param result the measured times
+     */
+    public void benchmarkFinished(Description description, BenchmarkResult result)
+            throws Exception {
+    }
+}
@@ -0,0 +1,92 @@
+package org.junit.experimental.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The measured times of a benchmark, one sample per measured iteration, each
+ * being the mean time per operation of that iteration in nanoseconds.
+ *
+ * @since 4.13
+ */
+public class BenchmarkResult {
+    /**
+     * The 99th percentile of the standard normal distribution; used to
+     * compute the half-width of the confidence interval of the mean.
+     */
+    private static final double Z_99 = 2.576;
+
+    private final double[] sortedSamples;
+    private final double mean;
+    private final double standardDeviation;
+
+    public BenchmarkResult(double[] samples) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("samples must not be empty");
+        }
+        sortedSamples = samples.clone();
+        Arrays.sort(sortedSamples);
+        double sum = 0;
+        for (double sample : sortedSamples) {
+            sum += sample;
+        }
+        mean = sum / sortedSamples.length;
+        double squares = 0;
+        for (double sample : sortedSamples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        standardDeviation = sortedSamples.length < 2
+                ? 0 : Math.sqrt(squares / (sortedSamples.length - 1));
+    }
+
+    /**
+     * Returns the number of samples.
+     */
+    public int getSampleCount() {
+        return sortedSamples.length;
+    }
+
+    /**
+     * Returns the mean time per operation in nanoseconds.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the standard deviation of the samples in nanoseconds.
+     */
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    /**
+     * Returns the half-width of the 99% confidence interval of the mean in
+     * nanoseconds.
+     */
+    public double getError() {
+        return Z_99 * standardDeviation / Math.sqrt(sortedSamples.length);
+    }
+
+    /**
+     * Returns the sample below which the given fraction of samples lie, using
+     * the nearest-rank method.
+     *
+     * @param percentile a value between 0 and 100
+     */
+    public double getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedSamples.length);
+        return sortedSamples[Math.max(0, rank - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+                "%.3f +- %.3f ns/op (p50 %.3f, p90 %.3f, p99 %.3f; %d iterations)",
+                mean, getError(), getPercentile(50), getPercentile(90), getPercentile(99),
+                sortedSamples.length);
+    }
+}
@@ -0,0 +1,242 @@
+package org.junit.experimental.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+
+/**
+ * The BenchmarkRunner runs the methods annotated with {@link Benchmark} as
+ * micro-benchmarks, next to the regular {@code @Test} methods of the class.
+ * Each benchmark is run like a test, i.e. with a fresh instance, its
+ * {@code @Before} and {@code @After} methods and its rules, and fails if it
+ * throws or if its mean time exceeds {@link Benchmark#maxMeanNanos()}.
+ * <p>
+ * A benchmark is first invoked for {@link Benchmark#warmupIterations()}
+ * iterations, whose times are discarded, and then for
+ * {@link Benchmark#iterations()} measured iterations, each invoking the method
+ * {@link Benchmark#operations()} times. The measured times, which include the
+ * cost of a reflective call per operation, are reported to the
+ * {@link BenchmarkListener}s added to the runner.
+ * <p>
+ * For example:
+ * <pre>
+ * &#064;RunWith(BenchmarkRunner.class)
+ * public class StringBuilderBenchmarks {
+ *     &#064;Benchmark(iterations = 20, maxMeanNanos = 1000)
+ *     public void append(Blackhole blackhole) {
+ *         blackhole.consume(new StringBuilder().append("a").append(42).toString());
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 4.13
+ */
+public class BenchmarkRunner extends BlockJUnit4ClassRunner {
+    /**
+     * Set in forked JVMs, which print their samples instead of reporting them.
+     */
+    static final String FORKED_PROPERTY = "org.junit.benchmark.forked";
+
+    static final String SAMPLES_PREFIX = "junit-benchmark-samples:";
+
+    private final List<BenchmarkListener> listeners =
+            new CopyOnWriteArrayList<BenchmarkListener>();
+
+    public BenchmarkRunner(Class<?> klass) throws InitializationError {
+        super(klass);
+    }
+
+    /**
+     * Adds a listener that receives the results of the benchmarks run by this
+     * runner.
+     */
+    public void addListener(BenchmarkListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("Cannot add a null listener");
+        }
+        listeners.add(listener);
+    }
+
+    @Override
+    protected List<FrameworkMethod> computeTestMethods() {
+        List<FrameworkMethod> testMethods = new ArrayList<FrameworkMethod>(super.computeTestMethods());
+        List<FrameworkMethod> benchmarkMethods = getTestClass().getAnnotatedMethods(Benchmark.class);
+        testMethods.removeAll(benchmarkMethods);
+        testMethods.addAll(benchmarkMethods);
+        return testMethods;
+    }
+
+    @Override
+    protected void validateTestMethods(List<Throwable> errors) {
+        for (FrameworkMethod each : computeTestMethods()) {
+            Benchmark benchmark = each.getAnnotation(Benchmark.class);
+            if (benchmark == null) {
+                each.validatePublicVoidNoArg(false, errors);
+                continue;
+            }
+            each.validatePublicVoid(false, errors);
+            Class<?>[] parameterTypes = each.getMethod().getParameterTypes();
+            if (parameterTypes.length > 1
+                    || (parameterTypes.length == 1 && parameterTypes[0] != Blackhole.class)) {
+                errors.add(new Exception("Method " + each.getName()
+                        + " should have no parameters or a single Blackhole parameter"));
+            }
+            if (benchmark.warmupIterations() < 0) {
+                errors.add(new Exception("Benchmark " + each.getName()
+                        + " should have a non-negative number of warmupIterations"));
+            }
+            if (benchmark.iterations() < 1) {
+                errors.add(new Exception("Benchmark " + each.getName()
+                        + " should have a positive number of iterations"));
+            }
+            if (benchmark.operations() < 1) {
+                errors.add(new Exception("Benchmark " + each.getName()
+                        + " should have a positive number of operations"));
+            }
+            if (benchmark.forks() < 0) {
+                errors.add(new Exception("Benchmark " + each.getName()
+                        + " should have a non-negative number of forks"));
+            }
+        }
+    }
+
+    @Override
+    protected Statement methodInvoker(FrameworkMethod method, Object test) {
+        Benchmark benchmark = method.getAnnotation(Benchmark.class);
+        if (benchmark == null) {
+            return super.methodInvoker(method, test);
+        }
+        return new BenchmarkStatement(method, test, benchmark);
+    }
+
+    /**
+     * Invoked when a benchmark has been measured, before it is checked against
+     * its limit. The default implementation reports the result to the
+     * {@link BenchmarkListener}s of this runner. An exception thrown by this
+     * method fails the benchmark.
+     */
+    protected void benchmarkFinished(FrameworkMethod method, BenchmarkResult result)
+            throws Exception {
+        for (BenchmarkListener each : listeners) {
+            each.benchmarkFinished(describeChild(method), result);
+        }
+    }
+
+    private class BenchmarkStatement extends Statement {
+        private final FrameworkMethod method;
+        private final Object test;
+        private final Benchmark benchmark;
+
+        BenchmarkStatement(FrameworkMethod method, Object test, Benchmark benchmark) {
+            this.method = method;
+            this.test = test;
+            this.benchmark = benchmark;
+        }
+
+        @Override
+        public void evaluate() throws Throwable {
+            boolean forked = Boolean.getBoolean(FORKED_PROPERTY);
+            if (forked) {
+                printSamples(measure());
+                return;
+            }
+            double[] samples = benchmark.forks() == 0 ? measure() : measureInForks();
+            BenchmarkResult result = new BenchmarkResult(samples);
+            benchmarkFinished(method, result);
+            long maxMeanNanos = benchmark.maxMeanNanos();
+            if (maxMeanNanos > 0 && result.getMean() > maxMeanNanos) {
+                throw new AssertionError("Benchmark " + method.getName()
+                        + " exceeded its limit of " + maxMeanNanos + " ns/op: " + result);
+            }
+        }
+
+        private double[] measure() throws Throwable {
+            Blackhole blackhole = new Blackhole();
+            Object[] params = method.getMethod().getParameterTypes().length == 0
+                    ? new Object[0] : new Object[] {blackhole};
+            for (int i = 0; i < benchmark.warmupIterations(); i++) {
+                runIteration(params, blackhole);
+            }
+            double[] samples = new double[benchmark.iterations()];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = (double) runIteration(params, blackhole) / benchmark.operations();
+            }
+            return samples;
+        }
+
+        private long runIteration(Object[] params, Blackhole blackhole) throws Throwable {
+            int operations = benchmark.operations();
+            long start = System.nanoTime();
+            for (int i = 0; i < operations; i++) {
+                method.invokeExplosively(test, params);
+            }
+            long elapsed = System.nanoTime() - start;
+            blackhole.publish();
+            return elapsed;
+        }
+
+        private void printSamples(double[] samples) {
+            StringBuilder sb = new StringBuilder(SAMPLES_PREFIX);
+            for (double sample : samples) {
+                sb.append(' ').append(sample);
+            }
+            System.out.println(sb);
+        }
+
+        private double[] measureInForks() throws IOException, InterruptedException {
+            List<Double> samples = new ArrayList<Double>();
+            for (int fork = 0; fork < benchmark.forks(); fork++) {
+                runFork(samples);
+            }
+            double[] result = new double[samples.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = samples.get(i);
+            }
+            return result;
+        }
+
+        private void runFork(List<Double> samples) throws IOException, InterruptedException {
+            String java = System.getProperty("java.home") + File.separator + "bin"
+                    + File.separator + "java";
+            ProcessBuilder builder = new ProcessBuilder(java,
+                    "-cp", System.getProperty("java.class.path"),
+                    "-D" + FORKED_PROPERTY + "=true",
+                    BenchmarkFork.class.getName(),
+                    getTestClass().getName(), method.getName());
+            builder.redirectErrorStream(true);
+            Process process = builder.start();
+            process.getOutputStream().close();
+            StringBuilder output = new StringBuilder();
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream()));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(SAMPLES_PREFIX)) {
+                        for (String sample : line.substring(SAMPLES_PREFIX.length()).trim().split(" ")) {
+                            samples.add(Double.valueOf(sample));
+                        }
+                    } else {
+                        output.append(line).append('\n');
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new AssertionError("Forked benchmark " + method.getName()
+                        + " failed with exit code " + exitCode + ":\n" + output);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.junit.experimental.benchmark;
+
+/**
+ * Consumes the values computed by a benchmark, so that the JIT compiler
+ * cannot remove their computation as dead code. Benchmark methods that take a
+ * {@code Blackhole} parameter receive one from the {@link BenchmarkRunner}.
+ *
+ * @since 4.13
+ */
+public final class Blackhole {
+    private long longSink;
+    private double doubleSink;
+    private Object objectSink;
+
+    /**
+     * Written once per iteration, so that the sinks are observable outside of
+     * the measured loop.
+     */
+    private volatile long published;
+
+    Blackhole() {
+    }
+
+    public void consume(Object value) {
+        objectSink = value;
+    }
+
+    public void consume(boolean value) {
+        longSink ^= value ? 1 : 0;
+    }
+
+    public void consume(int value) {
+        longSink ^= value;
+    }
+
+    public void consume(long value) {
+        longSink ^= value;
+    }
+
+    public void consume(double value) {
+        doubleSink += value;
+    }
+
+    void publish() {
+        published = longSink ^ Double.doubleToRawLongBits(doubleSink)
+                ^ System.identityHashCode(objectSink);
+        objectSink = null;
+    }
+}
@@ -0,0 +1,97 @@
+package org.junit.experimental.fork;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+
+/**
+ * The messages exchanged between a {@link ForkedRequest} and its
+ * {@link ForkedWorker}s over a loopback socket. The parent writes the name of
+ * a test class to a worker; the worker answers with the events of the run of
+ * that class, each a type byte optionally followed by a length-prefixed
+ * serialized {@link Description} or {@link Failure}, and ends with
+ * {@link #CLASS_FINISHED}.
+ */
+final class ForkProtocol {
+    static final byte TEST_STARTED = 1;
+    static final byte TEST_FINISHED = 2;
+    static final byte TEST_FAILURE = 3;
+    static final byte TEST_ASSUMPTION_FAILURE = 4;
+    static final byte TEST_IGNORED = 5;
+    static final byte CLASS_FINISHED = 6;
+
+    private static final int MAXIMUM_EVENT_LENGTH = 64 * 1024 * 1024;
+
+    private ForkProtocol() {
+    }
+
+    static void writeDescription(DataOutputStream out, byte type, Description description)
+            throws IOException {
+        byte[] bytes;
+        try {
+            bytes = serialize(description);
+        } catch (IOException e) {
+            bytes = serialize(Description.createSuiteDescription(description.getDisplayName()));
+        }
+        write(out, type, bytes);
+    }
+
+    static void writeFailure(DataOutputStream out, byte type, Failure failure)
+            throws IOException {
+        byte[] bytes;
+        try {
+            bytes = serialize(failure);
+        } catch (IOException e) {
+            // the exception is not serializable; keep its message and stack trace
+            RuntimeException exception = new RuntimeException(failure.getException().toString());
+            exception.setStackTrace(failure.getException().getStackTrace());
+            bytes = serialize(new Failure(failure.getDescription(), exception));
+        }
+        write(out, type, bytes);
+    }
+
+    static void writeClassFinished(DataOutputStream out) throws IOException {
+        out.writeByte(CLASS_FINISHED);
+        out.flush();
+    }
+
+    static Object readObject(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length <= 0 || length > MAXIMUM_EVENT_LENGTH) {
+            throw new IOException("Invalid event length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        try {
+            return objectIn.readObject();
+        } catch (ClassNotFoundException e) {
+            IOException exception = new IOException("Cannot read event of forked JVM");
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    private static void write(DataOutputStream out, byte type, byte[] bytes) throws IOException {
+        out.writeByte(type);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.flush();
+    }
+
+    private static byte[] serialize(Serializable object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+}
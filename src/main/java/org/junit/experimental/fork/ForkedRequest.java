@@ -0,0 +1,352 @@
+package org.junit.experimental.fork;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * A {@link Request} that runs test classes in a pool of forked JVMs. Each
+ * worker JVM takes the next test class from a shared queue, runs it and
+ * reports the events of the run back to the parent, where they are fired to
+ * the {@link RunNotifier} of the run, so listeners and the {@code Result}
+ * see a single run. A worker that dies while running a class is replaced; the
+ * test it was running, or else its class, is reported as failed.
+ *
+ * <p>The events are sent over a loopback socket, so what the JVM or the tests
+ * print to the standard output and error of a worker does not interfere;
+ * it is copied to the standard output and error of this JVM.
+ *
+ * <p>The workers use the class path of the current JVM. Filters and sorters
+ * applied to the request are not passed to the workers.
+ *
+ * <pre>
+ * Result result = new JUnitCore().run(ForkedRequest.classes(4, Test1.class, Test2.class));
+ * </pre>
+ *
+ * @since 4.13
+ */
+public class ForkedRequest extends Request {
+    private static final int CONNECT_TIMEOUT_MILLIS = 60 * 1000;
+    private static final int TERMINATION_POLLS = 20;
+    private static final long TERMINATION_POLL_MILLIS = 50;
+
+    private final int workers;
+    private final List<String> jvmArguments;
+    private final Class<?>[] classes;
+
+    /**
+     * Creates a request that runs {@code classes} in {@code workers} JVMs.
+     */
+    public static ForkedRequest classes(int workers, Class<?>... classes) {
+        return classes(workers, new ArrayList<String>(), classes);
+    }
+
+    /**
+     * Creates a request that runs {@code classes} in {@code workers} JVMs,
+     * started with the given JVM arguments.
+     */
+    public static ForkedRequest classes(int workers, List<String> jvmArguments,
+            Class<?>... classes) {
+        return new ForkedRequest(workers, jvmArguments, classes);
+    }
+
+    private ForkedRequest(int workers, List<String> jvmArguments, Class<?>[] classes) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers must be positive");
+        }
+        this.workers = workers;
+        this.jvmArguments = new ArrayList<String>(jvmArguments);
+        this.classes = classes.clone();
+    }
+
+    @Override
+    public Runner getRunner() {
+        return new ForkedRunner();
+    }
+
+    private class ForkedRunner extends Runner {
+        private Map<String, Description> classDescriptions;
+
+        @Override
+        public synchronized Description getDescription() {
+            Description description = Description.createSuiteDescription(
+                    "forked " + Arrays.toString(classes));
+            for (Description each : getClassDescriptions().values()) {
+                description.addChild(each);
+            }
+            return description;
+        }
+
+        private synchronized Map<String, Description> getClassDescriptions() {
+            if (classDescriptions == null) {
+                classDescriptions = new LinkedHashMap<String, Description>();
+                for (Class<?> each : classes) {
+                    classDescriptions.put(each.getName(),
+                            Request.aClass(each).getRunner().getDescription());
+                }
+            }
+            return classDescriptions;
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            Queue<String> queue = new ConcurrentLinkedQueue<String>(getClassDescriptions().keySet());
+            List<Worker> pool = new ArrayList<Worker>();
+            for (int i = 0; i < Math.min(workers, classes.length); i++) {
+                Worker worker = new Worker(queue, notifier);
+                worker.setName("ForkedRequest-worker-" + i);
+                worker.start();
+                pool.add(worker);
+            }
+            StoppedByUserException stopped = null;
+            for (Worker each : pool) {
+                try {
+                    each.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (each.stopped != null) {
+                    stopped = each.stopped;
+                }
+            }
+            if (stopped != null) {
+                throw stopped;
+            }
+        }
+
+        /**
+         * Runs classes from the queue in a forked JVM, and forwards their events.
+         */
+        private class Worker extends Thread {
+            private final Queue<String> queue;
+            private final RunNotifier notifier;
+            private Process process;
+            private Socket socket;
+            private DataOutputStream in;
+            private DataInputStream out;
+            private volatile StoppedByUserException stopped;
+
+            Worker(Queue<String> queue, RunNotifier notifier) {
+                this.queue = queue;
+                this.notifier = notifier;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    String className;
+                    while (stopped == null && (className = queue.poll()) != null) {
+                        runClass(className);
+                    }
+                    stopProcess();
+                } catch (StoppedByUserException e) {
+                    stopped = e;
+                    queue.clear();
+                } finally {
+                    destroyProcess();
+                }
+            }
+
+            private void runClass(String className) {
+                Description running = null;
+                try {
+                    if (process == null) {
+                        startProcess();
+                    }
+                    in.writeUTF(className);
+                    in.flush();
+                    while (true) {
+                        byte type = out.readByte();
+                        if (type == ForkProtocol.CLASS_FINISHED) {
+                            return;
+                        }
+                        Object event = ForkProtocol.readObject(out);
+                        if (type == ForkProtocol.TEST_STARTED) {
+                            running = (Description) event;
+                        } else if (type == ForkProtocol.TEST_FINISHED) {
+                            running = null;
+                        }
+                        fire(type, event);
+                    }
+                } catch (StoppedByUserException e) {
+                    throw e;
+                } catch (IOException e) {
+                    reportCrash(className, running, e);
+                } catch (RuntimeException e) {
+                    reportCrash(className, running, e);
+                } catch (Error e) {
+                    reportCrash(className, running, e);
+                }
+            }
+
+            private void fire(byte type, Object event) {
+                synchronized (notifier) {
+                    switch (type) {
+                        case ForkProtocol.TEST_STARTED:
+                            notifier.fireTestStarted((Description) event);
+                            break;
+                        case ForkProtocol.TEST_FINISHED:
+                            notifier.fireTestFinished((Description) event);
+                            break;
+                        case ForkProtocol.TEST_FAILURE:
+                            notifier.fireTestFailure((Failure) event);
+                            break;
+                        case ForkProtocol.TEST_ASSUMPTION_FAILURE:
+                            notifier.fireTestAssumptionFailed((Failure) event);
+                            break;
+                        case ForkProtocol.TEST_IGNORED:
+                            notifier.fireTestIgnored((Description) event);
+                            break;
+                        default:
+                            throw new IllegalStateException("Unknown event type " + type);
+                    }
+                }
+            }
+
+            private void reportCrash(String className, Description running, Throwable cause) {
+                boolean terminated = awaitTermination();
+                destroyProcess();
+                Description description = running != null
+                        ? running : getClassDescriptions().get(className);
+                IOException exception = new IOException(terminated
+                        ? "Forked JVM terminated unexpectedly while running " + className
+                        : "Lost connection to forked JVM running " + className
+                                + "; the JVM was stopped");
+                exception.initCause(cause);
+                synchronized (notifier) {
+                    notifier.fireTestFailure(new Failure(description, exception));
+                    if (running != null) {
+                        notifier.fireTestFinished(running);
+                    }
+                }
+            }
+
+            /**
+             * Gives a worker whose connection was closed a moment to exit, and
+             * returns whether it has.
+             */
+            private boolean awaitTermination() {
+                if (process == null) {
+                    return false;
+                }
+                for (int i = 0; i < TERMINATION_POLLS; i++) {
+                    try {
+                        process.exitValue();
+                        return true;
+                    } catch (IllegalThreadStateException e) {
+                        try {
+                            Thread.sleep(TERMINATION_POLL_MILLIS);
+                        } catch (InterruptedException interrupted) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    }
+                }
+                return false;
+            }
+
+            private void startProcess() throws IOException {
+                ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getByName(null));
+                try {
+                    serverSocket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+                    List<String> command = new ArrayList<String>();
+                    command.add(System.getProperty("java.home") + File.separator + "bin"
+                            + File.separator + "java");
+                    command.add("-cp");
+                    command.add(System.getProperty("java.class.path"));
+                    command.addAll(jvmArguments);
+                    command.add(ForkedWorker.class.getName());
+                    command.add(String.valueOf(serverSocket.getLocalPort()));
+                    process = new ProcessBuilder(command).start();
+                    process.getOutputStream().close();
+                    copyInBackground(process.getInputStream(), System.out, "stdout");
+                    copyInBackground(process.getErrorStream(), System.err, "stderr");
+                    socket = serverSocket.accept();
+                } finally {
+                    serverSocket.close();
+                }
+                in = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                out = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            }
+
+            /**
+             * Lets an idle worker exit by closing its connection.
+             */
+            private void stopProcess() {
+                if (process != null) {
+                    try {
+                        socket.close();
+                        process.waitFor();
+                        process = null;
+                    } catch (IOException e) {
+                        destroyProcess();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        destroyProcess();
+                    }
+                }
+            }
+
+            /**
+             * Kills a worker that may still be running a class.
+             */
+            private void destroyProcess() {
+                if (process != null) {
+                    try {
+                        if (socket != null) {
+                            socket.close();
+                        }
+                    } catch (IOException e) {
+                        // the process is killed anyway
+                    }
+                    process.destroy();
+                    process = null;
+                    socket = null;
+                }
+            }
+
+            private void copyInBackground(final InputStream stream, final PrintStream target,
+                    String name) {
+                Thread copier = new Thread(getName() + "-" + name) {
+                    @Override
+                    public void run() {
+                        byte[] buffer = new byte[4096];
+                        try {
+                            int read;
+                            while ((read = stream.read(buffer)) != -1) {
+                                target.write(buffer, 0, read);
+                            }
+                        } catch (IOException e) {
+                            // the worker has terminated
+                        }
+                    }
+                };
+                copier.setDaemon(true);
+                copier.start();
+            }
+        }
+    }
+}
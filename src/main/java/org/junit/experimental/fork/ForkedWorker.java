@@ -0,0 +1,93 @@
+package org.junit.experimental.fork;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Entry point of the JVMs started by {@link ForkedRequest}. Connects to the
+ * loopback port given as its only argument, runs the test classes whose names
+ * it reads from the connection and reports their events on it, until the
+ * connection is closed. Not intended to be used directly.
+ *
+ * @since 4.13
+ */
+public final class ForkedWorker {
+    private ForkedWorker() {
+    }
+
+    public static void main(String... args) throws IOException {
+        Socket socket = new Socket(InetAddress.getByName(null), Integer.parseInt(args[0]));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                socket.getOutputStream()));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                socket.getInputStream()));
+        JUnitCore core = new JUnitCore();
+        core.addListener(new EventWriter(out));
+        while (true) {
+            String className;
+            try {
+                className = in.readUTF();
+            } catch (EOFException e) {
+                socket.close();
+                return;
+            }
+            try {
+                core.run(Request.aClass(Class.forName(className)));
+            } catch (ClassNotFoundException e) {
+                ForkProtocol.writeFailure(out, ForkProtocol.TEST_FAILURE,
+                        new Failure(Description.createSuiteDescription(className), e));
+            }
+            ForkProtocol.writeClassFinished(out);
+        }
+    }
+
+    @RunListener.ThreadSafe
+    private static class EventWriter extends RunListener {
+        private final DataOutputStream out;
+
+        EventWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public synchronized void testStarted(Description description) throws IOException {
+            ForkProtocol.writeDescription(out, ForkProtocol.TEST_STARTED, description);
+        }
+
+        @Override
+        public synchronized void testFinished(Description description) throws IOException {
+            ForkProtocol.writeDescription(out, ForkProtocol.TEST_FINISHED, description);
+        }
+
+        @Override
+        public synchronized void testFailure(Failure failure) throws IOException {
+            ForkProtocol.writeFailure(out, ForkProtocol.TEST_FAILURE, failure);
+        }
+
+        @Override
+        public synchronized void testAssumptionFailure(Failure failure) {
+            try {
+                ForkProtocol.writeFailure(out, ForkProtocol.TEST_ASSUMPTION_FAILURE, failure);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public synchronized void testIgnored(Description description) throws IOException {
+            ForkProtocol.writeDescription(out, ForkProtocol.TEST_IGNORED, description);
+        }
+    }
+}
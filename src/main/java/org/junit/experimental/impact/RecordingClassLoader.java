@@ -0,0 +1,32 @@
+package org.junit.experimental.impact;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.internal.IsolatedClassLoader;
+
+/**
+ * An {@link IsolatedClassLoader} that records the names of the classes it
+ * loads itself.
+ */
+class RecordingClassLoader extends IsolatedClassLoader {
+    private final Set<String> loadedClassNames = new TreeSet<String>();
+
+    RecordingClassLoader(ClassLoader parent) {
+        super(parent);
+    }
+
+    /**
+     * Returns the names of the classes this loader has loaded itself.
+     */
+    synchronized Set<String> getLoadedClassNames() {
+        return new TreeSet<String>(loadedClassNames);
+    }
+
+    @Override
+    protected synchronized Class<?> findClass(String name) throws ClassNotFoundException {
+        Class<?> loaded = super.findClass(name);
+        loadedClassNames.add(name);
+        return loaded;
+    }
+}
@@ -0,0 +1,62 @@
+package org.junit.experimental.impact;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.FilterFactory;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * Creates a filter that only runs the tests affected by changed classes,
+ * according to a {@link TestImpactIndex}. The arguments are the path of the
+ * index file followed by the names of the changed classes, separated by
+ * commas. An argument starting with {@code @} names a file that lists changed
+ * classes, one per line. For example:
+ *
+ * <pre>
+ * --filter=org.junit.experimental.impact.TestImpactFilterFactory=impact-index.txt,&#064;changed-classes.txt
+ * </pre>
+ *
+ * @since 4.13
+ */
+public class TestImpactFilterFactory implements FilterFactory {
+    public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
+        String[] args = params.getArgs().split(",");
+        try {
+            TestImpactIndex index = TestImpactIndex.forFile(new File(args[0]));
+            List<String> changedClassNames = new ArrayList<String>();
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i].trim();
+                if (arg.startsWith("@")) {
+                    readClassNames(new File(arg.substring(1)), changedClassNames);
+                } else if (arg.length() > 0) {
+                    changedClassNames.add(arg);
+                }
+            }
+            return index.affectedBy(changedClassNames);
+        } catch (IOException e) {
+            throw new FilterNotCreatedException(e);
+        }
+    }
+
+    private static void readClassNames(File file, List<String> classNames) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().length() > 0) {
+                    classNames.add(line.trim());
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
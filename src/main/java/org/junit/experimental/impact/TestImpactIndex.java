@@ -0,0 +1,211 @@
+package org.junit.experimental.impact;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runner.Computer;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.model.RunnerBuilder;
+
+/**
+ * Maps each test class to the classes it loads, so that a run can be limited
+ * to the test classes affected by a change.
+ *
+ * <p>To record the index, run the tests with the {@link #recordingComputer()}
+ * and the {@link #listener()}; the computer loads each test class through its
+ * own class loader, which records the classes of the class path that the test
+ * class loads, and the listener saves the index when the run finishes.
+ * Recording runs are slower and use more memory than normal runs. To select
+ * the affected tests, filter a run with {@link #affectedBy(Collection)}, or
+ * use the {@link TestImpactFilterFactory} from the command line.
+ *
+ * <p>The index is stored as a text file with a line per test class: the name
+ * of the test class followed by the names of the classes it loads, separated
+ * by spaces.
+ *
+ * @since 4.13
+ */
+public class TestImpactIndex {
+    private final File file;
+    private final Map<String, Set<String>> dependencies = new TreeMap<String, Set<String>>();
+    private final ConcurrentMap<String, RecordingClassLoader> recordings =
+            new ConcurrentHashMap<String, RecordingClassLoader>();
+
+    /**
+     * Loads the index stored in {@code file}, or creates an empty index that
+     * will be saved to {@code file}.
+     */
+    public static TestImpactIndex forFile(File file) throws IOException {
+        TestImpactIndex index = new TestImpactIndex(file);
+        if (file.exists()) {
+            index.read();
+        }
+        return index;
+    }
+
+    private TestImpactIndex(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the names of the classes that the given test class loaded when
+     * it was recorded, or {@code null} if it has not been recorded.
+     */
+    public synchronized Set<String> getDependencies(String testClassName) {
+        Set<String> classNames = dependencies.get(testClassName);
+        return classNames == null ? null : new TreeSet<String>(classNames);
+    }
+
+    /**
+     * Returns the names of the recorded test classes that loaded at least one
+     * of the given classes.
+     */
+    public synchronized Set<String> getAffectedTestClasses(Collection<String> changedClassNames) {
+        Set<String> changed = new HashSet<String>(changedClassNames);
+        Set<String> affected = new TreeSet<String>();
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            if (changed.contains(entry.getKey())) {
+                affected.add(entry.getKey());
+                continue;
+            }
+            for (String dependency : entry.getValue()) {
+                if (changed.contains(dependency)) {
+                    affected.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Returns a filter that only runs the test classes affected by the given
+     * classes, and the test classes that have not been recorded yet.
+     */
+    public Filter affectedBy(Collection<String> changedClassNames) {
+        final Set<String> affected = getAffectedTestClasses(changedClassNames);
+        final Set<String> recorded;
+        synchronized (this) {
+            recorded = new HashSet<String>(dependencies.keySet());
+        }
+        return new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                if (description.isTest()) {
+                    String className = description.getClassName();
+                    return affected.contains(className) || !recorded.contains(className);
+                }
+                for (Description each : description.getChildren()) {
+                    if (shouldRun(each)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String describe() {
+                return "tests affected by changes (" + affected.size() + " recorded classes)";
+            }
+        };
+    }
+
+    /**
+     * Returns a computer that loads each test class through a class loader
+     * that records the classes it loads for this index.
+     */
+    public Computer recordingComputer() {
+        return new Computer() {
+            @Override
+            protected Runner getRunner(RunnerBuilder builder, Class<?> testClass)
+                    throws Throwable {
+                RecordingClassLoader loader =
+                        new RecordingClassLoader(TestImpactIndex.class.getClassLoader());
+                Class<?> recordedClass = Class.forName(testClass.getName(), true, loader);
+                recordings.put(testClass.getName(), loader);
+                return super.getRunner(builder, recordedClass);
+            }
+        };
+    }
+
+    /**
+     * Returns a listener that adds the classes recorded by the
+     * {@link #recordingComputer()} to this index and saves it when the run
+     * finishes.
+     */
+    public RunListener listener() {
+        return new RunListener() {
+            @Override
+            public void testRunFinished(Result result) throws IOException {
+                for (Map.Entry<String, RecordingClassLoader> each : recordings.entrySet()) {
+                    record(each.getKey(), each.getValue().getLoadedClassNames());
+                }
+                recordings.clear();
+                save();
+            }
+        };
+    }
+
+    synchronized void record(String testClassName, Set<String> classNames) {
+        Set<String> dependencyNames = new TreeSet<String>(classNames);
+        dependencyNames.remove(testClassName);
+        dependencies.put(testClassName, dependencyNames);
+    }
+
+    private synchronized void read() throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] names = line.trim().split(" ");
+                if (names[0].length() > 0) {
+                    Set<String> classNames = new TreeSet<String>();
+                    for (int i = 1; i < names.length; i++) {
+                        classNames.add(names[i]);
+                    }
+                    dependencies.put(names[0], classNames);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Writes this index to its file.
+     */
+    public synchronized void save() throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+                writer.write(entry.getKey());
+                for (String dependency : entry.getValue()) {
+                    writer.write(' ');
+                    writer.write(dependency);
+                }
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package org.junit.experimental.impact;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runner.Computer;
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.RunnerBuilder;
+
+/**
+ * Remembers which test methods passed, keyed by a hash of the bytecode of
+ * their test class and of the classes it loaded, so that later runs can skip
+ * the tests whose code has not changed. Only use it for deterministic tests
+ * whose outcome depends on nothing but their code, not on files, the network
+ * or the time.
+ *
+ * <p>To record results, run the tests with the {@link #recordingComputer()}
+ * and the {@link #listener()}; the computer loads each test class through its
+ * own class loader, which records the classes the test class loads, and the
+ * listener stores a file per test class in the cache folder when the run
+ * finishes. To skip the cached tests, run {@link #cachedRequest(Request)},
+ * which reports them as passed without running them, or
+ * {@link #skipCachedTests(Request)}, which leaves them out of the run:
+ *
+ * <pre>
+ * TestResultCache cache = TestResultCache.inFolder(new File("target/test-cache"));
+ * JUnitCore core = new JUnitCore();
+ * core.addListener(cache.listener());
+ * core.run(cache.cachedRequest(Request.classes(cache.recordingComputer(), classes)));
+ * </pre>
+ *
+ * @since 4.13
+ */
+public class TestResultCache {
+    private static final String HASH_ALGORITHM = "SHA-1";
+
+    private final File folder;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final ConcurrentMap<String, RecordingClassLoader> recordings =
+            new ConcurrentHashMap<String, RecordingClassLoader>();
+
+    /**
+     * Returns a cache that stores its files in {@code folder}.
+     */
+    public static TestResultCache inFolder(File folder) {
+        return new TestResultCache(folder);
+    }
+
+    private TestResultCache(File folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Returns whether the test passed in a recorded run, and neither its test
+     * class nor the classes that class loaded have changed since.
+     */
+    public boolean isCached(Description description) {
+        String className = description.getClassName();
+        if (className == null || description.getMethodName() == null) {
+            return false;
+        }
+        Entry entry = getValidEntry(className);
+        return entry != null && entry.passed.contains(description.getDisplayName());
+    }
+
+    /**
+     * Returns a filter that only runs the tests that are not cached. Filtering
+     * a request whose tests are all cached reports that no tests were found;
+     * use {@link #skipCachedTests(Request)} to run such requests.
+     */
+    public Filter skipCachedTests() {
+        return new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                if (description.isTest()) {
+                    return !isCached(description);
+                }
+                for (Description each : description.getChildren()) {
+                    if (shouldRun(each)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String describe() {
+                return "tests without cached results";
+            }
+        };
+    }
+
+    /**
+     * Returns a request that only runs the tests of {@code request} that are
+     * not cached. Unlike filtering {@code request} with
+     * {@link #skipCachedTests()}, the returned request runs no tests instead of
+     * failing if all tests are cached.
+     */
+    public Request skipCachedTests(final Request request) {
+        return new Request() {
+            @Override
+            public Runner getRunner() {
+                final Runner runner = request.getRunner();
+                try {
+                    skipCachedTests().apply(runner);
+                    return runner;
+                } catch (NoTestsRemainException e) {
+                    return new Runner() {
+                        @Override
+                        public Description getDescription() {
+                            return Description.createSuiteDescription(
+                                    runner.getDescription().getDisplayName());
+                        }
+
+                        @Override
+                        public int testCount() {
+                            return 0;
+                        }
+
+                        @Override
+                        public void run(RunNotifier notifier) {
+                        }
+                    };
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns a request that runs the tests of {@code request} that are not
+     * cached, and reports the cached tests as passed without running them.
+     */
+    public Request cachedRequest(final Request request) {
+        return new Request() {
+            @Override
+            public Runner getRunner() {
+                return new CachedRunner(request.getRunner());
+            }
+        };
+    }
+
+    /**
+     * Returns a computer that loads each test class through a class loader
+     * that records the classes it loads for this cache.
+     */
+    public Computer recordingComputer() {
+        return new Computer() {
+            @Override
+            protected Runner getRunner(RunnerBuilder builder, Class<?> testClass)
+                    throws Throwable {
+                RecordingClassLoader loader =
+                        new RecordingClassLoader(TestResultCache.class.getClassLoader());
+                Class<?> recordedClass = Class.forName(testClass.getName(), false, loader);
+                recordings.put(testClass.getName(), loader);
+                return super.getRunner(builder, recordedClass);
+            }
+        };
+    }
+
+    /**
+     * Returns a listener that stores the tests of the classes recorded by the
+     * {@link #recordingComputer()} that passed, when the run finishes.
+     */
+    public RunListener listener() {
+        return new RunListener() {
+            private final Set<Description> finished = new HashSet<Description>();
+            private final Set<Description> failed = new HashSet<Description>();
+
+            @Override
+            public void testFinished(Description description) {
+                finished.add(description);
+            }
+
+            @Override
+            public void testFailure(Failure failure) {
+                failed.add(failure.getDescription());
+            }
+
+            @Override
+            public void testAssumptionFailure(Failure failure) {
+                failed.add(failure.getDescription());
+            }
+
+            @Override
+            public void testRunFinished(Result result) throws IOException {
+                Map<String, Set<String>> passed = new HashMap<String, Set<String>>();
+                Set<String> failedNames = new HashSet<String>();
+                for (Description each : failed) {
+                    failedNames.add(each.getDisplayName());
+                }
+                for (Description each : finished) {
+                    if (!failed.contains(each) && each.getClassName() != null) {
+                        Set<String> names = passed.get(each.getClassName());
+                        if (names == null) {
+                            names = new TreeSet<String>();
+                            passed.put(each.getClassName(), names);
+                        }
+                        names.add(each.getDisplayName());
+                    }
+                }
+                for (Map.Entry<String, RecordingClassLoader> each : recordings.entrySet()) {
+                    Set<String> names = passed.get(each.getKey());
+                    store(each.getKey(), each.getValue().getLoadedClassNames(),
+                            names == null ? new TreeSet<String>() : names, failedNames);
+                }
+                recordings.clear();
+            }
+        };
+    }
+
+    /**
+     * Stores the tests of a class that passed. If the stored entry of the
+     * class is still valid, its passed tests and its dependencies are kept:
+     * tests reported from the cache did not run, so the classes they use
+     * were not loaded in this run.
+     */
+    private void store(String className, Set<String> loadedClassNames,
+            Set<String> passed, Set<String> failed) throws IOException {
+        Set<String> allDependencies = new TreeSet<String>(loadedClassNames);
+        Entry previous = getValidEntry(className);
+        if (previous != null) {
+            allDependencies.addAll(previous.dependencies);
+            passed.addAll(previous.passed);
+            passed.removeAll(failed);
+        }
+        allDependencies.remove(className);
+        List<String> dependencies = new ArrayList<String>(allDependencies);
+        String hash = hash(className, dependencies);
+        if (hash == null) {
+            entries.put(className, Entry.NONE);
+            getFile(className).delete();
+            return;
+        }
+        Entry entry = new Entry(hash, dependencies, passed);
+        entries.put(className, entry);
+        write(className, entry);
+    }
+
+    private Entry getValidEntry(String className) {
+        Entry entry = entries.get(className);
+        if (entry == null) {
+            entry = read(className);
+            Entry existing = entries.putIfAbsent(className, entry);
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+        return entry.isValid(className) ? entry : null;
+    }
+
+    private File getFile(String className) {
+        return new File(folder, className + ".cache");
+    }
+
+    private Entry read(String className) {
+        File file = getFile(className);
+        if (!file.exists()) {
+            return Entry.NONE;
+        }
+        try {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            try {
+                String hash = reader.readLine();
+                String dependencyLine = reader.readLine();
+                if (hash == null || dependencyLine == null) {
+                    return Entry.NONE;
+                }
+                List<String> dependencies = new ArrayList<String>();
+                for (String each : dependencyLine.trim().split(" ")) {
+                    if (each.length() > 0) {
+                        dependencies.add(each);
+                    }
+                }
+                Set<String> passed = new TreeSet<String>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.length() > 0) {
+                        passed.add(line);
+                    }
+                }
+                return new Entry(hash, dependencies, passed);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            // an unreadable entry is as good as none; it is rewritten by the next recording
+            return Entry.NONE;
+        }
+    }
+
+    private void write(String className, Entry entry) throws IOException {
+        folder.mkdirs();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(getFile(className)), "UTF-8");
+        try {
+            writer.write(entry.hash);
+            writer.write('\n');
+            for (String each : entry.dependencies) {
+                writer.write(each);
+                writer.write(' ');
+            }
+            writer.write('\n');
+            for (String each : entry.passed) {
+                writer.write(each);
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Returns a hash of the bytecode of the given classes, as found by the
+     * class loader of this class, or {@code null} if one of them is missing.
+     */
+    static String hash(String className, Collection<String> dependencies) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not available", e);
+        }
+        List<String> classNames = new ArrayList<String>(new TreeSet<String>(dependencies));
+        classNames.add(0, className);
+        byte[] buffer = new byte[8192];
+        for (String each : classNames) {
+            InputStream stream = TestResultCache.class.getClassLoader()
+                    .getResourceAsStream(each.replace('.', '/') + ".class");
+            if (stream == null) {
+                return null;
+            }
+            try {
+                try {
+                    digest.update(each.getBytes("UTF-8"));
+                    int read;
+                    while ((read = stream.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                } finally {
+                    stream.close();
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte each : digest.digest()) {
+            hex.append(String.format("%02x", each));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Returns a stamp of the last modification times of the class files of the
+     * given classes, or {@code null} if one of them is missing or its time is
+     * unknown.
+     */
+    static Long stamp(String className, Collection<String> dependencies) {
+        List<String> classNames = new ArrayList<String>(dependencies);
+        classNames.add(className);
+        long stamp = 17;
+        for (String each : classNames) {
+            URL resource = TestResultCache.class.getClassLoader()
+                    .getResource(each.replace('.', '/') + ".class");
+            if (resource == null) {
+                return null;
+            }
+            long lastModified;
+            try {
+                lastModified = resource.openConnection().getLastModified();
+            } catch (IOException e) {
+                return null;
+            }
+            if (lastModified == 0) {
+                return null;
+            }
+            stamp = 31 * stamp + lastModified;
+        }
+        return stamp;
+    }
+
+    private static final class Entry {
+        static final Entry NONE = new Entry(null, new ArrayList<String>(), new TreeSet<String>());
+
+        final String hash;
+        final List<String> dependencies;
+        final Set<String> passed;
+
+        private volatile Validation validation;
+
+        Entry(String hash, List<String> dependencies, Set<String> passed) {
+            this.hash = hash;
+            this.dependencies = dependencies;
+            this.passed = passed;
+        }
+
+        /**
+         * Returns whether the classes still have the hashed bytecode. The
+         * bytecode is only hashed again if a class file has been modified since
+         * the last check.
+         */
+        boolean isValid(String className) {
+            if (hash == null) {
+                return false;
+            }
+            Long stamp = stamp(className, dependencies);
+            Validation last = validation;
+            if (stamp != null && last != null && last.stamp == stamp) {
+                return last.valid;
+            }
+            boolean valid = hash.equals(hash(className, dependencies));
+            if (stamp != null) {
+                validation = new Validation(stamp, valid);
+            }
+            return valid;
+        }
+    }
+
+    private static final class Validation {
+        final long stamp;
+        final boolean valid;
+
+        Validation(long stamp, boolean valid) {
+            this.stamp = stamp;
+            this.valid = valid;
+        }
+    }
+
+    private class CachedRunner extends Runner {
+        private final Runner runner;
+
+        CachedRunner(Runner runner) {
+            this.runner = runner;
+        }
+
+        @Override
+        public Description getDescription() {
+            return runner.getDescription();
+        }
+
+        @Override
+        public int testCount() {
+            return runner.testCount();
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            List<Description> cached = new ArrayList<Description>();
+            findCachedTests(runner.getDescription(), cached);
+            for (Description each : cached) {
+                notifier.fireTestStarted(each);
+                notifier.fireTestFinished(each);
+            }
+            try {
+                skipCachedTests().apply(runner);
+            } catch (NoTestsRemainException e) {
+                return;
+            }
+            runner.run(notifier);
+        }
+
+        private void findCachedTests(Description description, List<Description> cached) {
+            if (description.isTest()) {
+                if (isCached(description)) {
+                    cached.add(description);
+                }
+            } else {
+                for (Description each : description.getChildren()) {
+                    findCachedTests(each, cached);
+                }
+            }
+        }
+    }
+}
@@ -3,17 +3,24 @@ package org.junit.experimental.max;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import junit.framework.TestSuite;
 import org.junit.internal.requests.SortingRequest;
 import org.junit.internal.runners.ErrorReportingRunner;
 import org.junit.internal.runners.JUnit38ClassRunner;
+import org.junit.runner.Computer;
 import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 
@@ -28,6 +35,10 @@ import org.junit.runners.model.InitializationError;
  * <li> Sort groups such that the most recent failure date is first, and never-failing tests are at the end.
  * <li> Within a group, run the fastest tests first.
  * </ol>
+ *
+ * Consecutive tests of the same class in the resulting order are run by a single runner
+ * for their class, so that class fixtures such as {@code @BeforeClass} methods run once
+ * for all of them.
  */
 public class MaxCore {
     private static final String MALFORMED_JUNIT_3_TEST_CLASS_PREFIX = "malformed JUnit 3 test class: ";
@@ -89,6 +100,35 @@ public class MaxCore {
         return core.run(sortRequest(request).getRunner());
     }
 
+    /**
+     * Run all the tests in <code>classes</code> with runners built by
+     * <code>computer</code>, sorted by {@link #sortRequestByClass(Request)}.
+     * With a {@link org.junit.experimental.ParallelComputer}, the tests that
+     * are most likely to fail are scheduled first.
+     *
+     * @return a {@link Result} describing the details of the test run and the failed tests.
+     * @since 4.13
+     */
+    public Result run(Computer computer, Class<?>... classes) {
+        JUnitCore core = new JUnitCore();
+        core.addListener(history.listener());
+        return core.run(sortRequestByClass(Request.classes(computer, classes)));
+    }
+
+    /**
+     * Returns a Request which contains the same runners as <code>request</code>,
+     * with the children of each runner sorted by the rules described in the
+     * class comment, a suite ranking like its first test. Unlike
+     * {@link #sortRequest(Request)}, the tests of a class stay together and
+     * are run by the runner of their class, so class fixtures run once and
+     * the schedulers of the runners are kept.
+     *
+     * @since 4.13
+     */
+    public Request sortRequestByClass(Request request) {
+        return request.sortWith(history.suiteComparator());
+    }
+
     /**
      * @return a new Request, which contains all of the same tests, but in a new order.
      */
@@ -104,8 +144,15 @@ public class MaxCore {
 
     private Request constructLeafRequest(List<Description> leaves) {
         final List<Runner> runners = new ArrayList<Runner>();
-        for (Description each : leaves) {
-            runners.add(buildRunner(each));
+        int start = 0;
+        while (start < leaves.size()) {
+            int end = endOfClassGroup(leaves, start);
+            if (end - start == 1) {
+                runners.add(buildRunner(leaves.get(start)));
+            } else {
+                runners.add(buildClassRunner(leaves.subList(start, end)));
+            }
+            start = end;
         }
         return new Request() {
             @Override
@@ -120,6 +167,77 @@ public class MaxCore {
         };
     }
 
+    /**
+     * Returns the end of the run of consecutive, distinct test methods of the
+     * same class that starts at {@code start}, so that they can be run by a
+     * single runner and share the fixtures of their class.
+     */
+    private int endOfClassGroup(List<Description> leaves, int start) {
+        Description first = leaves.get(start);
+        int end = start + 1;
+        if (isMethodOfClass(first)) {
+            Set<Description> group = new HashSet<Description>();
+            group.add(first);
+            while (end < leaves.size()) {
+                Description next = leaves.get(end);
+                if (!isMethodOfClass(next)
+                        || !first.getTestClass().equals(next.getTestClass())
+                        || !group.add(next)) {
+                    break;
+                }
+                end++;
+            }
+        }
+        return end;
+    }
+
+    private boolean isMethodOfClass(Description each) {
+        return !each.toString().startsWith(MALFORMED_JUNIT_3_TEST_CLASS_PREFIX)
+                && each.getMethodName() != null && each.getTestClass() != null;
+    }
+
+    private Runner buildClassRunner(List<Description> methods) {
+        final Map<Description, Integer> positions = new HashMap<Description, Integer>();
+        for (Description each : methods) {
+            positions.put(each, positions.size());
+        }
+        Filter filter = new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                if (description.isTest()) {
+                    return positions.containsKey(description);
+                }
+                for (Description each : description.getChildren()) {
+                    if (shouldRun(each)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String describe() {
+                return positions.size() + " sorted methods";
+            }
+        };
+        Comparator<Description> order = new Comparator<Description>() {
+            public int compare(Description o1, Description o2) {
+                return position(o1) - position(o2);
+            }
+
+            private int position(Description description) {
+                Integer position = positions.get(description);
+                int result = position == null ? Integer.MAX_VALUE : position;
+                for (Description each : description.getChildren()) {
+                    result = Math.min(result, position(each));
+                }
+                return result;
+            }
+        };
+        return Request.aClass(methods.get(0).getTestClass())
+                .filterWith(filter).sortWith(order).getRunner();
+    }
+
     private Runner buildRunner(Description each) {
         if (each.toString().equals("TestSuite with 0 tests")) {
             return Suite.emptySuite();
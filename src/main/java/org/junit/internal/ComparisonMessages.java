@@ -0,0 +1,296 @@
+package org.junit.internal;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Formats the values of failed comparisons for failure messages. Each rendered
+ * value is bounded in length, so that failures involving very large values do
+ * not allocate strings of the same size. The limit defaults to 10000 characters
+ * and can be changed with the {@value #MAX_VALUE_LENGTH_PROPERTY} system
+ * property, which is read once; a negative limit disables abbreviation.
+ *
+ * @since 4.13
+ */
+public final class ComparisonMessages {
+    /**
+     * The system property that holds the maximum number of characters shown
+     * for each value in a failure message.
+     */
+    public static final String MAX_VALUE_LENGTH_PROPERTY = "junit.maxValueLength";
+
+    private static final int DEFAULT_MAX_VALUE_LENGTH = 10000;
+    private static final String ELLIPSIS = "...";
+    private static final int MAX_VALUE_LENGTH =
+            Integer.getInteger(MAX_VALUE_LENGTH_PROPERTY, DEFAULT_MAX_VALUE_LENGTH);
+
+    private ComparisonMessages() {
+    }
+
+    /**
+     * Returns the maximum number of characters shown for each value in a
+     * failure message, or a negative number if values are not abbreviated.
+     */
+    public static int maxValueLength() {
+        return MAX_VALUE_LENGTH;
+    }
+
+    /**
+     * Returns a value that {@link #format(String, Object, Object)} renders
+     * like {@code value} at the time of this call: {@code value} itself if it
+     * is immutable, otherwise a snapshot of its string form and class. Used
+     * by failures that render their message later. The snapshot holds no more
+     * than {@link #maxValueLength()} characters; character sequences, and
+     * collections and maps with the default string form, are rendered only
+     * up to that length.
+     */
+    public static Object capture(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean
+                || value instanceof Character || value instanceof Byte
+                || value instanceof Short || value instanceof Integer
+                || value instanceof Long || value instanceof Float
+                || value instanceof Double || value instanceof Enum<?>) {
+            return value;
+        }
+        return new CapturedValue(value);
+    }
+
+    /**
+     * Formats the message of a failed equality check. Values whose string
+     * forms exceed {@link #maxValueLength()} are abbreviated around the first
+     * character that differs.
+     *
+     * @param message the identifying message (<code>null</code> okay)
+     * @param expected expected value
+     * @param actual actual value
+     */
+    public static String format(String message, Object expected, Object actual) {
+        return format(message, expected, actual, maxValueLength());
+    }
+
+    /**
+     * Formats the message of a failed equality check, abbreviating values
+     * whose string forms exceed {@code maxLength} around the first character
+     * that differs.
+     *
+     * @param message the identifying message (<code>null</code> okay)
+     * @param expected expected value
+     * @param actual actual value
+     * @param maxLength the maximum number of characters shown for each value,
+     * or a negative number to show values in full
+     */
+    public static String format(String message, Object expected, Object actual,
+            int maxLength) {
+        String formatted = "";
+        if (message != null && !"".equals(message)) {
+            formatted = message + " ";
+        }
+        String expectedString = String.valueOf(expected);
+        String actualString = String.valueOf(actual);
+        if (expectedString.equals(actualString)) {
+            String valueString = abbreviate(expectedString, 0, maxLength);
+            return formatted + "expected: "
+                    + formatClassAndValue(expected, valueString)
+                    + " but was: " + formatClassAndValue(actual, valueString);
+        } else {
+            int index = sharedPrefixLength(expectedString, actualString);
+            return formatted + "expected:<" + abbreviate(expectedString, index, maxLength)
+                    + "> but was:<" + abbreviate(actualString, index, maxLength) + ">";
+        }
+    }
+
+    private static String formatClassAndValue(Object value, String valueString) {
+        String className;
+        if (value == null) {
+            className = "null";
+        } else if (value instanceof CapturedValue) {
+            className = ((CapturedValue) value).className;
+        } else {
+            className = value.getClass().getName();
+        }
+        return className + "<" + valueString + ">";
+    }
+
+    /**
+     * Returns the number of leading characters that both strings have in
+     * common.
+     */
+    public static int sharedPrefixLength(String expected, String actual) {
+        int end = Math.min(expected.length(), actual.length());
+        for (int i = 0; i < end; i++) {
+            if (expected.charAt(i) != actual.charAt(i)) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns {@code value} if it does not exceed {@link #maxValueLength()},
+     * otherwise a window of that many characters surrounding {@code index},
+     * with "..." in place of the characters left out.
+     */
+    public static String abbreviate(String value, int index) {
+        return abbreviate(value, index, maxValueLength());
+    }
+
+    private static String abbreviate(String value, int index, int maxLength) {
+        if (maxLength < 0 || value.length() <= maxLength) {
+            return value;
+        }
+        int start = Math.max(0, Math.min(index - maxLength / 2, value.length() - maxLength));
+        int end = start + maxLength;
+        StringBuilder sb = new StringBuilder(maxLength + 2 * ELLIPSIS.length());
+        if (start > 0) {
+            sb.append(ELLIPSIS);
+        }
+        sb.append(value, start, end);
+        if (end < value.length()) {
+            sb.append(ELLIPSIS);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the characters of {@code value} from {@code start} to
+     * {@code end}, but no more than {@link #maxValueLength()} of them, followed
+     * by "..." if any were left out.
+     */
+    public static void appendAbbreviated(StringBuilder sb, String value, int start, int end) {
+        int maxLength = maxValueLength();
+        if (maxLength < 0 || end - start <= maxLength) {
+            sb.append(value, start, end);
+        } else {
+            sb.append(value, start, start + maxLength).append(ELLIPSIS);
+        }
+    }
+
+    /**
+     * The string form and class of a mutable value at the time it was
+     * captured.
+     */
+    private static final class CapturedValue {
+        private final String string;
+        private final String className;
+
+        CapturedValue(Object value) {
+            int maxLength = maxValueLength();
+            if (maxLength < 0) {
+                string = String.valueOf(value);
+            } else {
+                BoundedRendering rendering = new BoundedRendering(maxLength);
+                rendering.appendValue(value);
+                string = rendering.toString();
+            }
+            className = value.getClass().getName();
+        }
+
+        @Override
+        public String toString() {
+            return string;
+        }
+    }
+
+    /**
+     * Renders values like {@link String#valueOf(Object)}, but stops once
+     * {@code maxLength} characters have been rendered, so that large values
+     * are not rendered in full. A value that does not fit ends with "...".
+     */
+    private static final class BoundedRendering {
+        private final StringBuilder sb = new StringBuilder();
+        private final int maxLength;
+        private boolean full;
+
+        BoundedRendering(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        void appendValue(Object value) {
+            if (value instanceof CharSequence) {
+                append((CharSequence) value);
+            } else if (value instanceof Collection<?>
+                    && inheritsToString(value, AbstractCollection.class)) {
+                appendCollection((Collection<?>) value);
+            } else if (value instanceof Map<?, ?>
+                    && inheritsToString(value, AbstractMap.class)) {
+                appendMap((Map<?, ?>) value);
+            } else if (!full) {
+                append(String.valueOf(value));
+            }
+        }
+
+        private void appendCollection(Collection<?> collection) {
+            append("[");
+            String separator = "";
+            for (Object each : collection) {
+                if (full) {
+                    return;
+                }
+                append(separator);
+                if (each == collection) {
+                    append("(this Collection)");
+                } else {
+                    appendValue(each);
+                }
+                separator = ", ";
+            }
+            append("]");
+        }
+
+        private void appendMap(Map<?, ?> map) {
+            append("{");
+            String separator = "";
+            for (Map.Entry<?, ?> each : map.entrySet()) {
+                if (full) {
+                    return;
+                }
+                append(separator);
+                appendMapValue(map, each.getKey());
+                append("=");
+                appendMapValue(map, each.getValue());
+                separator = ", ";
+            }
+            append("}");
+        }
+
+        private void appendMapValue(Map<?, ?> map, Object value) {
+            if (value == map) {
+                append("(this Map)");
+            } else {
+                appendValue(value);
+            }
+        }
+
+        private void append(CharSequence chars) {
+            if (full) {
+                return;
+            }
+            int room = maxLength - sb.length();
+            if (chars.length() <= room) {
+                sb.append(chars);
+            } else {
+                sb.append(chars, 0, room);
+                full = true;
+            }
+        }
+
+        private static boolean inheritsToString(Object value, Class<?> type) {
+            try {
+                return value.getClass().getMethod("toString").getDeclaringClass() == type;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (!full) {
+                return sb.toString();
+            }
+            int kept = Math.max(0, maxLength - ELLIPSIS.length());
+            return sb.substring(0, kept) + ELLIPSIS;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package org.junit.internal;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.junit.Assert;
+
+/**
+ * Compares the contents of two byte sequences window by window, so that large
+ * buffers and files can be compared without copying them onto the heap. File
+ * contents are read with positional reads into a direct buffer per file, which
+ * is allocated once per comparison and reused for every window. Files are not
+ * memory-mapped, so they can be deleted or truncated right after a comparison,
+ * also on platforms that lock mapped files.
+ *
+ * @see Assert#assertContentEquals(String, java.io.File, java.io.File)
+ * @since 4.13
+ */
+public class ContentComparison {
+    private static final int DEFAULT_WINDOW_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * The number of bytes shown before and at the first difference.
+     */
+    private static final int CONTEXT_LENGTH = 8;
+
+    private static final String ELLIPSIS = "...";
+    private static final String DIFF_END = "]";
+    private static final String DIFF_START = "[";
+
+    private final int windowSize;
+
+    public ContentComparison() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize the number of bytes of each source compared at a time
+     */
+    public ContentComparison(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Asserts that the remaining bytes of two buffers are equal. The positions
+     * and limits of the buffers are not modified.
+     */
+    public void assertContentEquals(String message, ByteBuffer expected,
+            ByteBuffer actual) {
+        if (expected == actual) {
+            return;
+        }
+        String header = message == null ? "" : message + ": ";
+        if (expected == null) {
+            Assert.fail(header + "expected buffer was null");
+        }
+        if (actual == null) {
+            Assert.fail(header + "actual buffer was null");
+        }
+        try {
+            compare(header, new BufferContent(expected), new BufferContent(actual));
+        } catch (IOException e) {
+            // BufferContent never performs I/O
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Asserts that the entire contents of two channels are equal. The
+     * positions of the channels are not modified.
+     */
+    public void assertContentEquals(String message, FileChannel expected,
+            FileChannel actual) throws IOException {
+        if (expected == actual) {
+            return;
+        }
+        String header = message == null ? "" : message + ": ";
+        if (expected == null) {
+            Assert.fail(header + "expected channel was null");
+        }
+        if (actual == null) {
+            Assert.fail(header + "actual channel was null");
+        }
+        compare(header, new ChannelContent(expected), new ChannelContent(actual));
+    }
+
+    private void compare(String header, Content expected, Content actual)
+            throws IOException {
+        long expectedSize = expected.size();
+        long actualSize = actual.size();
+        long commonSize = Math.min(expectedSize, actualSize);
+        for (long offset = 0; offset < commonSize; offset += windowSize) {
+            int length = (int) Math.min(windowSize, commonSize - offset);
+            int index = mismatch(expected.window(offset, length),
+                    actual.window(offset, length), length);
+            if (index >= 0) {
+                fail(header, expected, actual, offset + index);
+            }
+        }
+        if (expectedSize != actualSize) {
+            fail(header, expected, actual, commonSize);
+        }
+    }
+
+    /**
+     * Returns the index of the first byte that differs in the given windows,
+     * or {@code -1} if both are equal. Compares eight bytes at a time and only
+     * falls back to single bytes to locate the difference.
+     */
+    private static int mismatch(ByteBuffer expected, ByteBuffer actual, int length) {
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            if (expected.getLong(i) != actual.getLong(i)) {
+                break;
+            }
+        }
+        for (; i < length; i++) {
+            if (expected.get(i) != actual.get(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void fail(String header, Content expected, Content actual,
+            long offset) throws IOException {
+        Assert.fail(header + "contents first differed at byte " + offset
+                + "; expected:<" + compact(expected, offset) + "> but was:<"
+                + compact(actual, offset) + ">");
+    }
+
+    /**
+     * Renders the bytes around {@code offset} in hex, with the bytes starting
+     * at {@code offset} enclosed in brackets, in the style of
+     * {@link org.junit.ComparisonFailure}.
+     */
+    private static String compact(Content content, long offset) throws IOException {
+        long size = content.size();
+        long start = Math.max(0, offset - CONTEXT_LENGTH);
+        long end = Math.min(size, offset + CONTEXT_LENGTH);
+        StringBuilder sb = new StringBuilder();
+        if (start > 0) {
+            sb.append(ELLIPSIS);
+        }
+        appendHex(sb, content, start, offset);
+        if (start < offset) {
+            sb.append(' ');
+        }
+        sb.append(DIFF_START);
+        appendHex(sb, content, offset, end);
+        sb.append(DIFF_END);
+        if (end < size) {
+            sb.append(ELLIPSIS);
+        }
+        return sb.toString();
+    }
+
+    private static void appendHex(StringBuilder sb, Content content, long from,
+            long to) throws IOException {
+        if (from >= to) {
+            return;
+        }
+        ByteBuffer window = content.window(from, (int) (to - from));
+        for (int i = 0; i < to - from; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            int b = window.get(i) & 0xff;
+            sb.append(Character.forDigit(b >> 4, 16));
+            sb.append(Character.forDigit(b & 0xf, 16));
+        }
+    }
+
+    private abstract static class Content {
+        abstract long size() throws IOException;
+
+        /**
+         * Returns a buffer whose index 0 is the byte at {@code offset}.
+         */
+        abstract ByteBuffer window(long offset, int length) throws IOException;
+    }
+
+    private static class BufferContent extends Content {
+        private final ByteBuffer buffer;
+
+        BufferContent(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        long size() {
+            return buffer.remaining();
+        }
+
+        @Override
+        ByteBuffer window(long offset, int length) {
+            ByteBuffer window = buffer.duplicate();
+            int position = buffer.position() + (int) offset;
+            window.limit(position + length);
+            window.position(position);
+            return window.slice();
+        }
+    }
+
+    private static class ChannelContent extends Content {
+        private final FileChannel channel;
+
+        private ByteBuffer buffer;
+
+        ChannelContent(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        ByteBuffer window(long offset, int length) throws IOException {
+            if (buffer == null || buffer.capacity() < length) {
+                buffer = ByteBuffer.allocateDirect(length);
+            }
+            buffer.clear();
+            buffer.limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("File was truncated during the comparison");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
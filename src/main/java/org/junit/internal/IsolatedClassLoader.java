@@ -0,0 +1,109 @@
+package org.junit.internal;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hamcrest.Matcher;
+import org.junit.Test;
+
+/**
+ * Loads the classes of the class path itself instead of delegating to its
+ * parent, so that each instance has its own copy of the test classes and
+ * their static state. The classes of the JDK, JUnit and Hamcrest are shared
+ * with the parent, so that test classes still see the same annotations and
+ * runners.
+ *
+ * @since 4.13
+ */
+public class IsolatedClassLoader extends URLClassLoader {
+    private static final URL[] CLASS_PATH = classPath();
+    private static final String[] SHARED_LOCATIONS = {
+            location(Test.class), location(Matcher.class)
+    };
+
+    /**
+     * Creates a class loader over the class path of the JVM
+     * ({@code java.class.path}).
+     */
+    public IsolatedClassLoader(ClassLoader parent) {
+        this(CLASS_PATH, parent);
+    }
+
+    /**
+     * Creates a class loader over the given class path.
+     */
+    public IsolatedClassLoader(URL[] classPath, ClassLoader parent) {
+        super(classPath, parent);
+    }
+
+    /**
+     * Closes the jar files opened by this class loader, on JVMs that support
+     * closing class loaders (Java 7 and later). Classes that have not been
+     * loaded yet cannot be loaded afterwards.
+     */
+    public void release() {
+        Method close;
+        try {
+            close = URLClassLoader.class.getMethod("close");
+        } catch (NoSuchMethodException e) {
+            return;
+        }
+        try {
+            close.invoke(this);
+        } catch (Exception e) {
+            // the jar files are closed when the class loader is collected
+        }
+    }
+
+    @Override
+    protected synchronized Class<?> loadClass(String name, boolean resolve)
+            throws ClassNotFoundException {
+        Class<?> loaded = findLoadedClass(name);
+        if (loaded == null) {
+            URL resource = findResource(name.replace('.', '/') + ".class");
+            if (resource == null || isShared(resource)) {
+                return super.loadClass(name, resolve);
+            }
+            loaded = findClass(name);
+        }
+        if (resolve) {
+            resolveClass(loaded);
+        }
+        return loaded;
+    }
+
+    private static boolean isShared(URL resource) {
+        String url = resource.toString();
+        for (String location : SHARED_LOCATIONS) {
+            if (location != null && url.contains(location)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String location(Class<?> type) {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        return codeSource == null ? null : codeSource.getLocation().toString();
+    }
+
+    private static URL[] classPath() {
+        List<URL> urls = new ArrayList<URL>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (entry.length() > 0) {
+                try {
+                    urls.add(new File(entry).toURI().toURL());
+                } catch (MalformedURLException e) {
+                    // not a valid class path entry; the parent cannot use it either
+                }
+            }
+        }
+        return urls.toArray(new URL[urls.size()]);
+    }
+}
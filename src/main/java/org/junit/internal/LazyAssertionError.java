@@ -0,0 +1,49 @@
+package org.junit.internal;
+
+import java.io.ObjectStreamException;
+
+/**
+ * An {@link AssertionError} whose message is only rendered when it is first
+ * requested. Assertions that fail on large values use it to avoid building
+ * their failure message unless somebody actually reads it. Mutable values
+ * must be captured when the error is created, e.g. with
+ * {@link ComparisonMessages#capture(Object)}, so that later changes to them
+ * do not change the message.
+ *
+ * <p>Subclasses render the message in {@link #createMessage()} and should
+ * release the compared values afterwards, so that a failure does not keep
+ * them reachable.
+ *
+ * @since 4.13
+ */
+public abstract class LazyAssertionError extends AssertionError {
+    private static final long serialVersionUID = 1L;
+
+    private transient String message;
+
+    /**
+     * Renders the message of this error. Called at most once.
+     */
+    protected abstract String createMessage();
+
+    @Override
+    public synchronized String getMessage() {
+        if (message == null) {
+            message = createMessage();
+        }
+        return message;
+    }
+
+    /**
+     * Serializes this error as a plain {@link AssertionError} that carries the
+     * rendered message, since the compared values may not be serializable.
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        AssertionError replacement = new AssertionError(getMessage());
+        replacement.setStackTrace(getStackTrace());
+        if (getCause() != null) {
+            replacement.initCause(getCause());
+        }
+        return replacement;
+    }
+}
@@ -0,0 +1,333 @@
+package org.junit.internal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Publishes live metrics of a test run in the Prometheus text format, so that
+ * long-running executions can be watched while they run. The metrics are
+ * written to a file periodically and once more when the run finishes; the file
+ * is replaced as a whole, so readers never see a partial dump.
+ *
+ * <p>Published are the number of started, finished, failed, skipped and
+ * ignored tests, the number of tests in flight, the throughput since the
+ * previous dump, the heap usage, and per test class a histogram of test
+ * durations in fixed buckets together with the estimated median and 99th
+ * percentile.
+ *
+ * @since 4.13
+ */
+@RunListener.ThreadSafe
+public class MetricsListener extends RunListener {
+    /**
+     * Upper bounds of the duration buckets, in milliseconds.
+     */
+    private static final long[] BUCKET_BOUNDS = {
+            1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 300000
+    };
+
+    private final File metricsFile;
+    private final long period;
+    private final TimeUnit unit;
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong finished = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong ignored = new AtomicLong();
+    private final ConcurrentMap<Description, Long> startNanos =
+            new ConcurrentHashMap<Description, Long>();
+    private final ConcurrentMap<String, Histogram> durations =
+            new ConcurrentHashMap<String, Histogram>();
+    private ScheduledExecutorService publisher;
+    private long lastDumpNanos = System.nanoTime();
+    private long lastDumpFinished;
+
+    /**
+     * @param metricsFile the file the metrics are written to
+     * @param period the time between two dumps
+     * @param unit the time unit of the {@code period} argument
+     */
+    public MetricsListener(File metricsFile, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.metricsFile = metricsFile;
+        this.period = period;
+        this.unit = unit;
+    }
+
+    @Override
+    public synchronized void testRunStarted(Description description) {
+        publisher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "MetricsListener-publisher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        publisher.scheduleAtFixedRate(new Runnable() {
+            public void run() {
+                try {
+                    publish();
+                } catch (IOException e) {
+                    // try again at the next period
+                }
+            }
+        }, period, period, unit);
+    }
+
+    @Override
+    public void testRunFinished(Result result) throws IOException {
+        synchronized (this) {
+            if (publisher != null) {
+                publisher.shutdownNow();
+                publisher = null;
+            }
+        }
+        publish();
+    }
+
+    @Override
+    public void testStarted(Description description) {
+        started.incrementAndGet();
+        startNanos.put(description, System.nanoTime());
+    }
+
+    @Override
+    public void testFinished(Description description) {
+        Long start = startNanos.remove(description);
+        if (start != null) {
+            histogram(description.getClassName()).record(
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        finished.incrementAndGet();
+    }
+
+    @Override
+    public void testFailure(Failure failure) {
+        failed.incrementAndGet();
+    }
+
+    @Override
+    public void testAssumptionFailure(Failure failure) {
+        skipped.incrementAndGet();
+    }
+
+    @Override
+    public void testIgnored(Description description) {
+        ignored.incrementAndGet();
+    }
+
+    /**
+     * Writes the current metrics to the metrics file.
+     */
+    public synchronized void publish() throws IOException {
+        long now = System.nanoTime();
+        long finishedCount = finished.get();
+        StringWriter metrics = new StringWriter();
+        writeTo(metrics, now, finishedCount);
+        File temporaryFile = new File(metricsFile.getPath() + ".tmp");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(temporaryFile), "UTF-8");
+        try {
+            writer.write(metrics.toString());
+        } finally {
+            writer.close();
+        }
+        if (!temporaryFile.renameTo(metricsFile)) {
+            // renaming does not replace existing files on every platform
+            metricsFile.delete();
+            if (!temporaryFile.renameTo(metricsFile)) {
+                throw new IOException("could not replace " + metricsFile);
+            }
+        }
+        lastDumpNanos = now;
+        lastDumpFinished = finishedCount;
+    }
+
+    /**
+     * Writes the current metrics in the Prometheus text format. The throughput
+     * is measured since the previous dump to the metrics file.
+     */
+    public synchronized void writeTo(Writer writer) throws IOException {
+        writeTo(writer, System.nanoTime(), finished.get());
+    }
+
+    private void writeTo(Writer writer, long now, long finishedCount) throws IOException {
+        long startedCount = started.get();
+        writeCounter(writer, "junit_tests_started_total", "Tests started.", startedCount);
+        writeCounter(writer, "junit_tests_finished_total", "Tests finished.", finishedCount);
+        writeCounter(writer, "junit_tests_failed_total", "Test failures.", failed.get());
+        writeCounter(writer, "junit_tests_skipped_total",
+                "Tests skipped by a failed assumption.", skipped.get());
+        writeCounter(writer, "junit_tests_ignored_total", "Tests ignored.", ignored.get());
+        writeGauge(writer, "junit_tests_in_flight", "Tests started but not finished.",
+                Math.max(0, startedCount - finishedCount));
+        writeGauge(writer, "junit_tests_per_second",
+                "Tests finished per second since the previous dump.",
+                throughput(now, finishedCount));
+        writeGauge(writer, "junit_test_failure_ratio", "Failures per finished test.",
+                finishedCount == 0 ? 0 : (double) failed.get() / finishedCount);
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        writeGauge(writer, "junit_heap_used_bytes", "Used heap memory.", heap.getUsed());
+        writeGauge(writer, "junit_heap_committed_bytes", "Committed heap memory.",
+                heap.getCommitted());
+
+        Map<String, Histogram> sortedDurations = new TreeMap<String, Histogram>(durations);
+        writer.write("# HELP junit_test_duration_seconds Test durations by class.\n");
+        writer.write("# TYPE junit_test_duration_seconds histogram\n");
+        for (Map.Entry<String, Histogram> entry : sortedDurations.entrySet()) {
+            entry.getValue().writeTo(writer, "class=" + quote(entry.getKey()));
+        }
+        writer.write("# HELP junit_test_duration_quantile_seconds"
+                + " Estimated test duration quantiles by class.\n");
+        writer.write("# TYPE junit_test_duration_quantile_seconds gauge\n");
+        for (Map.Entry<String, Histogram> entry : sortedDurations.entrySet()) {
+            String label = "class=" + quote(entry.getKey());
+            Histogram histogram = entry.getValue();
+            writer.write("junit_test_duration_quantile_seconds{" + label + ",quantile=\"0.5\"} "
+                    + seconds(histogram.quantile(0.5)) + "\n");
+            writer.write("junit_test_duration_quantile_seconds{" + label + ",quantile=\"0.99\"} "
+                    + seconds(histogram.quantile(0.99)) + "\n");
+        }
+        writer.flush();
+    }
+
+    private double throughput(long now, long finishedCount) {
+        long elapsed = now - lastDumpNanos;
+        return elapsed <= 0 ? 0 : (finishedCount - lastDumpFinished) * 1e9 / elapsed;
+    }
+
+    private Histogram histogram(String className) {
+        Histogram histogram = durations.get(className);
+        if (histogram == null) {
+            Histogram newHistogram = new Histogram();
+            histogram = durations.putIfAbsent(className, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+        return histogram;
+    }
+
+    private static void writeCounter(Writer writer, String name, String help, long value)
+            throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " counter\n");
+        writer.write(name + " " + value + "\n");
+    }
+
+    private static void writeGauge(Writer writer, String name, String help, double value)
+            throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " gauge\n");
+        writer.write(name + " " + value + "\n");
+    }
+
+    private static String seconds(long millis) {
+        return String.valueOf(millis / 1000.0);
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Counts durations in the buckets of {@link #BUCKET_BOUNDS}; the last
+     * bucket holds the durations above all bounds.
+     */
+    private static class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+        private final AtomicLong sumMillis = new AtomicLong();
+
+        void record(long millis) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && millis > BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            counts.incrementAndGet(bucket);
+            sumMillis.addAndGet(millis);
+        }
+
+        /**
+         * Returns the upper bound of the bucket that holds the given quantile,
+         * the largest bound if it lies above all of them, or 0 if nothing has
+         * been recorded.
+         */
+        long quantile(double quantile) {
+            long[] snapshot = snapshot();
+            long total = 0;
+            for (long count : snapshot) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+                cumulative += snapshot[i];
+                if (cumulative >= rank) {
+                    return BUCKET_BOUNDS[i];
+                }
+            }
+            return BUCKET_BOUNDS[BUCKET_BOUNDS.length - 1];
+        }
+
+        void writeTo(Writer writer, String label) throws IOException {
+            long[] snapshot = snapshot();
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+                cumulative += snapshot[i];
+                writer.write("junit_test_duration_seconds_bucket{" + label + ",le=\""
+                        + seconds(BUCKET_BOUNDS[i]) + "\"} " + cumulative + "\n");
+            }
+            cumulative += snapshot[BUCKET_BOUNDS.length];
+            writer.write("junit_test_duration_seconds_bucket{" + label + ",le=\"+Inf\"} "
+                    + cumulative + "\n");
+            writer.write("junit_test_duration_seconds_sum{" + label + "} "
+                    + seconds(sumMillis.get()) + "\n");
+            writer.write("junit_test_duration_seconds_count{" + label + "} "
+                    + cumulative + "\n");
+        }
+
+        private long[] snapshot() {
+            long[] snapshot = new long[counts.length()];
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = counts.get(i);
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package org.junit.internal.requests;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * A {@link Request} that runs failing tests again.
+ *
+ * @see Request#retryFailures(int)
+ * @since 4.13
+ */
+public final class RetryingRequest extends Request {
+    private final Request request;
+    private final int maxRetries;
+    private final boolean newThreads;
+
+    /**
+     * Creates a Request that retries failing tests
+     *
+     * @param request a {@link Request} describing your Tests
+     * @param maxRetries the maximum number of times a failing test is run again
+     * @param newThreads whether each retry runs on a new thread
+     */
+    public RetryingRequest(Request request, int maxRetries, boolean newThreads) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        this.request = request;
+        this.maxRetries = maxRetries;
+        this.newThreads = newThreads;
+    }
+
+    @Override
+    public Runner getRunner() {
+        return new RetryingRunner(request.getRunner());
+    }
+
+    private class RetryingRunner extends Runner implements Filterable, Sortable {
+        private final Runner runner;
+
+        RetryingRunner(Runner runner) {
+            this.runner = runner;
+        }
+
+        @Override
+        public Description getDescription() {
+            return runner.getDescription();
+        }
+
+        @Override
+        public int testCount() {
+            return runner.testCount();
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            HoldingNotifier holdingNotifier = new HoldingNotifier(notifier);
+            try {
+                runner.run(holdingNotifier);
+                holdingNotifier.retryFailedTests();
+            } finally {
+                holdingNotifier.fireHeldEvents();
+            }
+        }
+
+        public void filter(Filter filter) throws NoTestsRemainException {
+            filter.apply(runner);
+        }
+
+        public void sort(Sorter sorter) {
+            sorter.apply(runner);
+        }
+    }
+
+    /**
+     * Forwards all events to another notifier, except the failures of tests
+     * and the finishing of failed tests, which are held back until the run
+     * has finished, so that the failed tests can be retried first. Retrying
+     * after the run keeps the class fixtures of a retry from running while
+     * the class of the test is still running.
+     */
+    private class HoldingNotifier extends RunNotifier {
+        private final RunNotifier notifier;
+        private final Map<Description, List<Failure>> heldFailures =
+                new HashMap<Description, List<Failure>>();
+        private final List<FailedTest> failedTests = new ArrayList<FailedTest>();
+        private final Set<RunNotifier> retryNotifiers = new HashSet<RunNotifier>();
+        private volatile boolean stopRequested;
+
+        HoldingNotifier(RunNotifier notifier) {
+            this.notifier = notifier;
+        }
+
+        @Override
+        public void addListener(RunListener listener) {
+            notifier.addListener(listener);
+        }
+
+        @Override
+        public void removeListener(RunListener listener) {
+            notifier.removeListener(listener);
+        }
+
+        @Override
+        public void addFirstListener(RunListener listener) {
+            notifier.addFirstListener(listener);
+        }
+
+        @Override
+        public void fireTestRunStarted(Description description) {
+            notifier.fireTestRunStarted(description);
+        }
+
+        @Override
+        public void fireTestRunFinished(Result result) {
+            notifier.fireTestRunFinished(result);
+        }
+
+        @Override
+        public void fireTestStarted(Description description) throws StoppedByUserException {
+            notifier.fireTestStarted(description);
+        }
+
+        @Override
+        public void fireTestFailure(Failure failure) {
+            Description description = failure.getDescription();
+            if (description.isTest() && description.getMethodName() != null) {
+                synchronized (this) {
+                    List<Failure> failures = heldFailures.get(description);
+                    if (failures == null) {
+                        failures = new ArrayList<Failure>();
+                        heldFailures.put(description, failures);
+                    }
+                    failures.add(failure);
+                }
+            } else {
+                notifier.fireTestFailure(failure);
+            }
+        }
+
+        @Override
+        public void fireTestAssumptionFailed(Failure failure) {
+            notifier.fireTestAssumptionFailed(failure);
+        }
+
+        @Override
+        public void fireTestIgnored(Description description) {
+            notifier.fireTestIgnored(description);
+        }
+
+        @Override
+        public void fireTestFinished(Description description) {
+            synchronized (this) {
+                List<Failure> failures = heldFailures.remove(description);
+                if (failures != null) {
+                    failedTests.add(new FailedTest(description, failures));
+                    return;
+                }
+            }
+            notifier.fireTestFinished(description);
+        }
+
+        @Override
+        public void fireTestRetried(Description description, long runTime) {
+            notifier.fireTestRetried(description, runTime);
+        }
+
+        @Override
+        public void fireTestPassedOnRetry(Description description, List<Failure> failures) {
+            notifier.fireTestPassedOnRetry(description, failures);
+        }
+
+        @Override
+        public void pleaseStop() {
+            stopRequested = true;
+            synchronized (this) {
+                for (RunNotifier each : retryNotifiers) {
+                    each.pleaseStop();
+                }
+            }
+            notifier.pleaseStop();
+        }
+
+        /**
+         * Retries the tests that failed, in the order in which they finished,
+         * and reports their outcome and that they finished.
+         */
+        void retryFailedTests() {
+            FailedTest failedTest;
+            while ((failedTest = nextFailedTest()) != null) {
+                try {
+                    retry(failedTest.description, failedTest.failures);
+                } finally {
+                    notifier.fireTestFinished(failedTest.description);
+                }
+            }
+        }
+
+        /**
+         * Reports the held events of tests that have not been retried, and the
+         * failures of tests that failed without finishing.
+         */
+        void fireHeldEvents() {
+            FailedTest failedTest;
+            while ((failedTest = nextFailedTest()) != null) {
+                for (Failure each : failedTest.failures) {
+                    notifier.fireTestFailure(each);
+                }
+                notifier.fireTestFinished(failedTest.description);
+            }
+            List<Failure> failures = new ArrayList<Failure>();
+            synchronized (this) {
+                for (List<Failure> each : heldFailures.values()) {
+                    failures.addAll(each);
+                }
+                heldFailures.clear();
+            }
+            for (Failure each : failures) {
+                notifier.fireTestFailure(each);
+            }
+        }
+
+        private synchronized FailedTest nextFailedTest() {
+            return failedTests.isEmpty() ? null : failedTests.remove(0);
+        }
+
+        private void retry(Description description, List<Failure> failures) {
+            boolean reported = false;
+            try {
+                for (int i = 0; i < maxRetries && !stopRequested; i++) {
+                    Runner retry = singleTestRunner(description);
+                    if (retry == null) {
+                        break;
+                    }
+                    long start = System.currentTimeMillis();
+                    Result result = run(retry);
+                    notifier.fireTestRetried(description, System.currentTimeMillis() - start);
+                    if (result.wasSuccessful() && result.getRunCount() > 0) {
+                        reported = true;
+                        notifier.fireTestPassedOnRetry(description, failures);
+                        return;
+                    }
+                }
+            } finally {
+                if (!reported) {
+                    for (Failure each : failures) {
+                        notifier.fireTestFailure(each);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns a runner for just the given test, or {@code null} if its
+         * class cannot run it on its own, as for tests whose names do not
+         * identify them.
+         */
+        private Runner singleTestRunner(Description description) {
+            if (description.getTestClass() == null) {
+                return null;
+            }
+            Runner retry = Request.aClass(description.getTestClass()).getRunner();
+            try {
+                Filter.matchMethodDescription(description).apply(retry);
+            } catch (NoTestsRemainException e) {
+                return null;
+            }
+            return retry.testCount() == 1 ? retry : null;
+        }
+
+        private Result run(final Runner retry) {
+            if (!newThreads) {
+                return runNow(retry);
+            }
+            final Result[] result = new Result[1];
+            Thread thread = new Thread("retry of " + retry.getDescription()) {
+                @Override
+                public void run() {
+                    result[0] = runNow(retry);
+                }
+            };
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pleaseStop();
+                throw new StoppedByUserException();
+            }
+            return result[0];
+        }
+
+        private Result runNow(Runner retry) {
+            Result result = new Result();
+            RunNotifier retryNotifier = new RunNotifier();
+            retryNotifier.addFirstListener(result.createListener());
+            synchronized (this) {
+                retryNotifiers.add(retryNotifier);
+            }
+            try {
+                if (!stopRequested) {
+                    retryNotifier.fireTestRunStarted(retry.getDescription());
+                    retry.run(retryNotifier);
+                    retryNotifier.fireTestRunFinished(result);
+                }
+            } catch (StoppedByUserException e) {
+                // the run is stopping; the failures of the first attempt are reported
+            } finally {
+                synchronized (this) {
+                    retryNotifiers.remove(retryNotifier);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class FailedTest {
+        final Description description;
+        final List<Failure> failures;
+
+        FailedTest(Description description, List<Failure> failures) {
+            this.description = description;
+            this.failures = failures;
+        }
+    }
+}
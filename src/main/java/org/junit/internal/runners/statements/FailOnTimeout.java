@@ -2,25 +2,49 @@ package org.junit.internal.runners.statements;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.runners.model.MultipleFailureException;
 import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestTimedOutException;
 
 public class FailOnTimeout extends Statement {
+    /**
+     * The system property that, if set to {@code true}, makes instances use a
+     * {@link Builder#withSharedWatchdog(boolean) shared watchdog} unless the
+     * builder specifies otherwise. This applies to the {@code timeout} of
+     * {@link org.junit.Test @Test}. The property is read once.
+     *
+     * @since 4.13
+     */
+    public static final String SHARED_WATCHDOG_PROPERTY = "junit.timeout.sharedWatchdog";
+
+    private static final boolean SHARED_WATCHDOG_BY_DEFAULT =
+            Boolean.getBoolean(SHARED_WATCHDOG_PROPERTY);
+
     private final Statement originalStatement;
     private final TimeUnit timeUnit;
     private final long timeout;
     private final boolean lookForStuckThread;
+    private final boolean sharedWatchdog;
+    private final boolean threadDiagnosis;
 
     /**
      * Returns a new builder for building an instance.
@@ -48,6 +72,8 @@ public class FailOnTimeout extends Statement {
         timeout = builder.timeout;
         timeUnit = builder.unit;
         lookForStuckThread = builder.lookForStuckThread;
+        sharedWatchdog = builder.sharedWatchdog;
+        threadDiagnosis = builder.threadDiagnosis;
     }
 
     /**
@@ -57,6 +83,8 @@ public class FailOnTimeout extends Statement {
      */
     public static class Builder {
         private boolean lookForStuckThread = false;
+        private boolean sharedWatchdog = SHARED_WATCHDOG_BY_DEFAULT;
+        private boolean threadDiagnosis = false;
         private long timeout = 0;
         private TimeUnit unit = TimeUnit.SECONDS;
 
@@ -102,6 +130,48 @@ public class FailOnTimeout extends Statement {
             return this;
         }
 
+        /**
+         * Specifies whether to diagnose a timeout with the thread management
+         * interface of the JVM. If a timeout occurs and this feature is
+         * enabled, the failure additionally reports the deadlocked threads if
+         * the test is part of a deadlock, the thread that holds the lock the
+         * test is blocked on, or else the thread that appears to be stuck, as
+         * {@link #withLookingForStuckThread(boolean)} does. Only the innermost
+         * frames of each reported thread are captured.
+         *
+         * @param enable {@code true} to enable the feature
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withThreadDiagnosis(boolean enable) {
+            this.threadDiagnosis = enable;
+            return this;
+        }
+
+        /**
+         * Specifies whether to run the test on the thread that evaluates the
+         * statement instead of on a new thread. If this feature is enabled, a
+         * single watchdog thread that is shared by all instances enforces the
+         * timeout: at the deadline it captures the stack trace of the test and
+         * interrupts it. This avoids creating a thread for every test, but a
+         * test that ignores the interrupt keeps running until it returns on its
+         * own; it is reported as timed out once it does.
+         *
+         * <p>When looking for a stuck thread, the threads in the thread group of
+         * the evaluating thread that were started while the test ran are
+         * considered. Unless this method is called, the feature is enabled if
+         * the {@value #SHARED_WATCHDOG_PROPERTY} system property is
+         * {@code true}.
+         *
+         * @param enable {@code true} to enable the feature
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withSharedWatchdog(boolean enable) {
+            this.sharedWatchdog = enable;
+            return this;
+        }
+
         /**
          * Builds a {@link FailOnTimeout} instance using the values in this builder,
          * wrapping the given statement.
@@ -118,6 +188,14 @@ public class FailOnTimeout extends Statement {
 
     @Override
     public void evaluate() throws Throwable {
+        if (sharedWatchdog) {
+            evaluateOnCurrentThread();
+        } else {
+            evaluateOnNewThread();
+        }
+    }
+
+    private void evaluateOnNewThread() throws Throwable {
         CallableStatement callable = new CallableStatement();
         FutureTask<Throwable> task = new FutureTask<Throwable>(callable);
         ThreadGroup threadGroup = new ThreadGroup("FailOnTimeoutGroup");
@@ -131,6 +209,38 @@ public class FailOnTimeout extends Statement {
         }
     }
 
+    private void evaluateOnCurrentThread() throws Throwable {
+        if (timeout <= 0) {
+            originalStatement.evaluate();
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        Collection<Thread> otherThreads = lookForStuckThread || threadDiagnosis
+                ? new HashSet<Thread>(getThreadsInGroup(thread.getThreadGroup()))
+                : Collections.<Thread>emptySet();
+        Deadline deadline = new Deadline(thread, otherThreads);
+        ScheduledFuture<?> watchdog = Watchdog.EXECUTOR.schedule(deadline, timeout, timeUnit);
+        Throwable throwable = null;
+        try {
+            originalStatement.evaluate();
+        } catch (Throwable e) {
+            throwable = e;
+        } finally {
+            watchdog.cancel(false);
+            if (watchdog instanceof Runnable) {
+                // don't keep cancelled deadlines queued until they expire
+                Watchdog.EXECUTOR.remove((Runnable) watchdog);
+            }
+        }
+        Exception timeoutException = deadline.finish();
+        if (timeoutException != null) {
+            throw timeoutException;
+        }
+        if (throwable != null) {
+            throw throwable;
+        }
+    }
+
     /**
      * Wait for the test task, returning the exception thrown by the test if the
      * test failed, an exception indicating a timeout if the test timed out, or
@@ -149,13 +259,22 @@ public class FailOnTimeout extends Statement {
             // test failed; have caller re-throw the exception thrown by the test
             return e.getCause();
         } catch (TimeoutException e) {
-            return createTimeoutException(thread);
+            return createTimeoutException(thread, Collections.<Thread>emptySet());
         }
     }
 
-    private Exception createTimeoutException(Thread thread) {
+    /**
+     * Creates the exception that reports the timeout of the test running on
+     * {@code thread}, and interrupts it. Threads in {@code otherThreads} are
+     * not blamed for the timeout.
+     */
+    private Exception createTimeoutException(Thread thread, Collection<Thread> otherThreads) {
+        if (threadDiagnosis) {
+            return createDiagnosedTimeoutException(thread, otherThreads);
+        }
         StackTraceElement[] stackTrace = thread.getStackTrace();
-        final Thread stuckThread = lookForStuckThread ? getStuckThread(thread) : null;
+        final Thread stuckThread = lookForStuckThread
+                ? getStuckThread(thread, otherThreads) : null;
         Exception currThreadException = new TestTimedOutException(timeout, timeUnit);
         if (stackTrace != null) {
             currThreadException.setStackTrace(stackTrace);
@@ -173,6 +292,22 @@ public class FailOnTimeout extends Statement {
         }
     }
 
+    private Exception createDiagnosedTimeoutException(Thread thread,
+            Collection<Thread> otherThreads) {
+        Exception currThreadException = new TestTimedOutException(timeout, timeUnit);
+        currThreadException.setStackTrace(getStackTrace(thread));
+        List<Exception> problems = new ThreadDiagnosis().diagnose(
+                thread, getTestThreads(thread, otherThreads));
+        thread.interrupt();
+        if (problems.isEmpty()) {
+            return currThreadException;
+        }
+        List<Throwable> failures = new ArrayList<Throwable>(problems.size() + 1);
+        failures.add(currThreadException);
+        failures.addAll(problems);
+        return new MultipleFailureException(failures);
+    }
+
     /**
      * Retrieves the stack trace for a given thread.
      * @param thread The thread whose stack is to be retrieved.
@@ -192,13 +327,14 @@ public class FailOnTimeout extends Statement {
      * the "main thread" (the one created to run the test).  This feature is experimental.
      * Behavior may change after the 4.12 release in response to feedback.
      * @param mainThread The main thread created by {@code evaluate()}
+     * @param otherThreads Threads that are not considered
      * @return The thread which appears to be causing the problem, if different from
      * {@code mainThread}, or {@code null} if the main thread appears to be the
      * problem or if the thread cannot be determined.  The return value is never equal 
      * to {@code mainThread}.
      */
-    private Thread getStuckThread(Thread mainThread) {
-        List<Thread> threadsInGroup = getThreadsInGroup(mainThread.getThreadGroup());
+    private Thread getStuckThread(Thread mainThread, Collection<Thread> otherThreads) {
+        List<Thread> threadsInGroup = getTestThreads(mainThread, otherThreads);
         if (threadsInGroup.isEmpty()) {
             return null;
         }
@@ -222,6 +358,21 @@ public class FailOnTimeout extends Statement {
         return (stuckThread == mainThread) ? null : stuckThread;
     }
 
+    /**
+     * Returns the active threads in the thread group of {@code mainThread},
+     * except for {@code otherThreads} and the threads of the watchdog.
+     */
+    private List<Thread> getTestThreads(Thread mainThread, Collection<Thread> otherThreads) {
+        List<Thread> testThreads = new ArrayList<Thread>();
+        for (Thread each : getThreadsInGroup(mainThread.getThreadGroup())) {
+            if (each == mainThread || !otherThreads.contains(each)
+                    && each.getThreadGroup() != Watchdog.THREAD_GROUP) {
+                testThreads.add(each);
+            }
+        }
+        return testThreads;
+    }
+
     /**
      * Returns all active threads belonging to a thread group.  
      * @param group The thread group.
@@ -265,6 +416,91 @@ public class FailOnTimeout extends Statement {
         return 0;
     }
 
+    /**
+     * Fails a test that runs on the evaluating thread once its deadline has
+     * passed. Either the test finishes first or the deadline expires first;
+     * whichever comes second has no effect. The watchdog only decides; the
+     * timeout exception is created on another thread, so that a slow
+     * diagnosis does not delay the deadlines of other tests.
+     */
+    private class Deadline implements Runnable {
+        private final Thread thread;
+        private final Collection<Thread> otherThreads;
+        private final AtomicBoolean decided = new AtomicBoolean(false);
+        private final CountDownLatch expired = new CountDownLatch(1);
+        private volatile Exception timeoutException;
+
+        Deadline(Thread thread, Collection<Thread> otherThreads) {
+            this.thread = thread;
+            this.otherThreads = otherThreads;
+        }
+
+        public void run() {
+            if (decided.compareAndSet(false, true)) {
+                Watchdog.TIMEOUT_REPORTERS.execute(new Runnable() {
+                    public void run() {
+                        try {
+                            timeoutException = createTimeoutException(thread, otherThreads);
+                        } finally {
+                            expired.countDown();
+                        }
+                    }
+                });
+            }
+        }
+
+        /**
+         * Marks the test as finished. Returns the exception that reports the
+         * timeout if the deadline expired first, otherwise {@code null}.
+         */
+        Exception finish() {
+            if (decided.compareAndSet(false, true)) {
+                return null;
+            }
+            while (expired.getCount() > 0) {
+                try {
+                    expired.await();
+                } catch (InterruptedException e) {
+                    // raised by the watchdog; keep waiting until it is done
+                }
+            }
+            // Clear the interrupt raised by the watchdog, so that it does not
+            // affect whatever runs next on this thread.
+            Thread.interrupted();
+            return timeoutException;
+        }
+    }
+
+    /**
+     * Holds the watchdog thread, which is only started when the first
+     * statement with a shared watchdog is evaluated, and the threads that
+     * create the exceptions of timed out tests, which are only started when
+     * tests time out.
+     */
+    private static class Watchdog {
+        static final ThreadGroup THREAD_GROUP = new ThreadGroup("FailOnTimeout-watchdog");
+
+        static final ScheduledThreadPoolExecutor EXECUTOR =
+                new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("FailOnTimeout-watchdog"));
+
+        static final ExecutorService TIMEOUT_REPORTERS = Executors.newCachedThreadPool(
+                new DaemonThreadFactory("FailOnTimeout-timeout-reporter"));
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String name;
+
+        DaemonThreadFactory(String name) {
+            this.name = name;
+        }
+
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(Watchdog.THREAD_GROUP, runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     private class CallableStatement implements Callable<Throwable> {
         private final CountDownLatch startLatch = new CountDownLatch(1);
 
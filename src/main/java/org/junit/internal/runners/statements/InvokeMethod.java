@@ -4,6 +4,12 @@ import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.Statement;
 
 public class InvokeMethod extends Statement {
+    /**
+     * Passed to methods without parameters, so that invoking them does not
+     * allocate an empty varargs array each time.
+     */
+    static final Object[] NO_ARGUMENTS = new Object[0];
+
     private final FrameworkMethod testMethod;
     private final Object target;
 
@@ -14,6 +20,6 @@ public class InvokeMethod extends Statement {
 
     @Override
     public void evaluate() throws Throwable {
-        testMethod.invokeExplosively(target);
+        testMethod.invokeExplosively(target, NO_ARGUMENTS);
     }
 }
\ No newline at end of file
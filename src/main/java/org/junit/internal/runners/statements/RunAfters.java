@@ -30,7 +30,7 @@ public class RunAfters extends Statement {
         } finally {
             for (FrameworkMethod each : afters) {
                 try {
-                    each.invokeExplosively(target);
+                    each.invokeExplosively(target, InvokeMethod.NO_ARGUMENTS);
                 } catch (Throwable e) {
                     errors.add(e);
                 }
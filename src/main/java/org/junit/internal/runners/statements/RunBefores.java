@@ -21,7 +21,7 @@ public class RunBefores extends Statement {
     @Override
     public void evaluate() throws Throwable {
         for (FrameworkMethod before : befores) {
-            before.invokeExplosively(target);
+            before.invokeExplosively(target, InvokeMethod.NO_ARGUMENTS);
         }
         next.evaluate();
     }
@@ -0,0 +1,118 @@
+package org.junit.internal.runners.statements;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Explains why a timed-out test hangs, using the {@link ThreadMXBean} instead
+ * of asking each thread for its stack trace. Reports the deadlocked threads if
+ * the test is part of a deadlock, the owner of the lock the test is blocked
+ * on, or else the runnable thread that used the most CPU time. At most {@link #MAX_STACK_DEPTH} frames are captured
+ * per reported thread.
+ *
+ * @since 4.13
+ */
+class ThreadDiagnosis {
+    static final int MAX_STACK_DEPTH = 64;
+
+    private final ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Returns exceptions describing the threads that explain the hang, each
+     * carrying the stack trace of the thread it describes. The list is empty
+     * if nothing suspicious has been found.
+     *
+     * @param mainThread the thread running the test
+     * @param candidates the threads that may have been started by the test
+     */
+    List<Exception> diagnose(Thread mainThread, List<Thread> candidates) {
+        List<Exception> problems = new ArrayList<Exception>();
+        try {
+            long[] deadlockedIds = mxBean.findMonitorDeadlockedThreads();
+            if (deadlockedIds != null && involvesTest(deadlockedIds, mainThread, candidates)) {
+                for (ThreadInfo info : mxBean.getThreadInfo(deadlockedIds, MAX_STACK_DEPTH)) {
+                    if (info != null) {
+                        problems.add(problem("Deadlocked thread " + info.getThreadName()
+                                + " is waiting for " + info.getLockName()
+                                + " held by thread " + info.getLockOwnerName(), info));
+                    }
+                }
+                return problems;
+            }
+            ThreadInfo mainInfo = mxBean.getThreadInfo(mainThread.getId());
+            if (mainInfo != null && mainInfo.getLockOwnerId() != -1) {
+                ThreadInfo owner = mxBean.getThreadInfo(
+                        mainInfo.getLockOwnerId(), MAX_STACK_DEPTH);
+                if (owner != null) {
+                    problems.add(problem("Test is blocked on " + mainInfo.getLockName()
+                            + " held by thread " + owner.getThreadName(), owner));
+                }
+                return problems;
+            }
+            ThreadInfo hottest = hottestRunnableThread(mainThread, candidates);
+            if (hottest != null) {
+                problems.add(problem(
+                        "Appears to be stuck in thread " + hottest.getThreadName(), hottest));
+            }
+        } catch (SecurityException e) {
+            // no permission to monitor threads; nothing to report
+        }
+        return problems;
+    }
+
+    private static boolean involvesTest(long[] threadIds, Thread mainThread,
+            List<Thread> candidates) {
+        for (long id : threadIds) {
+            if (id == mainThread.getId()) {
+                return true;
+            }
+            for (Thread candidate : candidates) {
+                if (id == candidate.getId()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private ThreadInfo hottestRunnableThread(Thread mainThread, List<Thread> candidates) {
+        long[] ids = new long[candidates.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = candidates.get(i).getId();
+        }
+        long hottestId = -1;
+        long maxCpuTime = -1;
+        for (ThreadInfo info : mxBean.getThreadInfo(ids, 0)) {
+            if (info != null && info.getThreadState() == Thread.State.RUNNABLE) {
+                long cpuTime = cpuTime(info.getThreadId());
+                if (cpuTime > maxCpuTime) {
+                    hottestId = info.getThreadId();
+                    maxCpuTime = cpuTime;
+                }
+            }
+        }
+        if (hottestId == -1 || hottestId == mainThread.getId()) {
+            return null;
+        }
+        return mxBean.getThreadInfo(hottestId, MAX_STACK_DEPTH);
+    }
+
+    private long cpuTime(long threadId) {
+        if (mxBean.isThreadCpuTimeSupported()) {
+            try {
+                return mxBean.getThreadCpuTime(threadId);
+            } catch (UnsupportedOperationException e) {
+            }
+        }
+        return 0;
+    }
+
+    private static Exception problem(String message, ThreadInfo info) {
+        Exception problem = new Exception(message);
+        problem.setStackTrace(info.getStackTrace());
+        return problem;
+    }
+}
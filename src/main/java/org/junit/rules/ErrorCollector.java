@@ -4,7 +4,10 @@ import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hamcrest.Matcher;
 import org.junit.runners.model.MultipleFailureException;
@@ -29,21 +32,63 @@ import org.junit.runners.model.MultipleFailureException;
  * }
  * </pre>
  *
+ * <p>
+ * ErrorCollector is thread-safe: worker threads started by a test may add
+ * errors and call {@code checkThat} concurrently. Errors are recorded in a
+ * lock-free queue. A collector created with {@link #ErrorCollector(int)} keeps
+ * at most the given number of errors and reports how many were left out, which
+ * keeps stress tests that fail on every thread from piling up failures.
+ *
  * @since 4.7
  */
 public class ErrorCollector extends Verifier {
-    private List<Throwable> errors = new ArrayList<Throwable>();
+    private final Queue<Throwable> errors = new ConcurrentLinkedQueue<Throwable>();
+    private final AtomicInteger errorCount = new AtomicInteger();
+    private final int maxErrors;
+
+    /**
+     * Creates a collector that records every error.
+     */
+    public ErrorCollector() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a collector that records at most {@code maxErrors} errors.
+     * Further errors are only counted, and reported at the end in a summary.
+     *
+     * @param maxErrors the maximum number of errors to record
+     * @since 4.13
+     */
+    public ErrorCollector(int maxErrors) {
+        if (maxErrors <= 0) {
+            throw new IllegalArgumentException("maxErrors must be positive");
+        }
+        this.maxErrors = maxErrors;
+    }
 
     @Override
     protected void verify() throws Throwable {
-        MultipleFailureException.assertEmpty(errors);
+        int count = errorCount.get();
+        List<Throwable> collected = new ArrayList<Throwable>(errors);
+        int omitted = count - collected.size();
+        if (omitted > 0) {
+            collected.add(new AssertionError(String.format(
+                    "%d more errors were not recorded (limit is %d)", omitted, maxErrors)));
+        }
+        MultipleFailureException.assertEmpty(collected);
     }
 
     /**
      * Adds a Throwable to the table.  Execution continues, but the test will fail at the end.
      */
     public void addError(Throwable error) {
-        errors.add(error);
+        if (error == null) {
+            throw new NullPointerException("Error cannot be null");
+        }
+        if (errorCount.incrementAndGet() <= maxErrors) {
+            errors.add(error);
+        }
     }
 
     /**
@@ -53,7 +98,7 @@ public class ErrorCollector extends Verifier {
      * @deprecated use {@code org.hamcrest.junit.ErrorCollector.checkThat()}
      */
     @Deprecated
-    public <T> void checkThat(final T value, final Matcher<T> matcher) {
+    public <T> void checkThat(T value, Matcher<T> matcher) {
         checkThat("", value, matcher);
     }
 
@@ -65,13 +110,12 @@ public class ErrorCollector extends Verifier {
      * @deprecated use {@code org.hamcrest.junit.ErrorCollector.checkThat()}
      */
     @Deprecated
-    public <T> void checkThat(final String reason, final T value, final Matcher<T> matcher) {
-        checkSucceeds(new Callable<Object>() {
-            public Object call() throws Exception {
-                assertThat(reason, value, matcher);
-                return value;
-            }
-        });
+    public <T> void checkThat(String reason, T value, Matcher<T> matcher) {
+        try {
+            assertThat(reason, value, matcher);
+        } catch (Throwable e) {
+            addError(e);
+        }
     }
 
     /**
@@ -0,0 +1,388 @@
+package org.junit.rules;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * The PerformanceBaseline Rule fails a test whose duration or allocated bytes
+ * regress against a baseline stored in a local file, keyed by the test's
+ * {@link Description}.
+ *
+ * <p>A baseline consists of the measurements taken in approve mode, which is
+ * enabled with {@link Builder#approving(boolean)} or by setting the
+ * {@value #APPROVE_PROPERTY} system property to {@code true}. In approve mode,
+ * each measurement is added to the baseline and the test never fails because
+ * of it; the baseline keeps the most recent measurements. In normal mode, a
+ * measurement regresses if it exceeds the baseline's mean by more than a
+ * number of standard deviations and by more than a minimum relative margin.
+ * A single noisy measurement does not fail the test: it only fails after a
+ * number of consecutive regressions. Tests whose baseline has too few
+ * measurements are not checked.
+ *
+ * <p>The rule must also be used as a {@link org.junit.ClassRule}: the
+ * baselines are written to the file after each class, so a class runs
+ * without rewriting the file after every test.
+ *
+ * <pre>
+ * public static class HotPathTest {
+ *   &#064;ClassRule
+ *   &#064;Rule
+ *   public static PerformanceBaseline baseline = PerformanceBaseline.builder(
+ *           new File("target/performance-baselines.ser"))
+ *       .withTolerance(3.0)
+ *       .build();
+ *
+ *   &#064;Test
+ *   public void parse() {
+ *     ...
+ *   }
+ * }
+ * </pre>
+ *
+ * @since 4.13
+ */
+public class PerformanceBaseline implements TestRule {
+    /**
+     * The system property that enables approve mode for all instances that
+     * do not set it explicitly.
+     */
+    public static final String APPROVE_PROPERTY = "junit.baseline.approve";
+
+    private static final ConcurrentMap<File, BaselineStore> STORES =
+            new ConcurrentHashMap<File, BaselineStore>();
+
+    private final File file;
+    private final boolean approving;
+    private final double tolerance;
+    private final double minimumMargin;
+    private final int minimumSamples;
+    private final int historySize;
+    private final int consecutiveRegressions;
+    private final Stopwatch.Clock clock;
+
+    /**
+     * Returns a new builder for a rule that stores its baselines in
+     * {@code file}.
+     */
+    public static Builder builder(File file) {
+        return new Builder(file);
+    }
+
+    protected PerformanceBaseline(Builder builder) {
+        file = builder.file.getAbsoluteFile();
+        approving = builder.approving == null
+                ? Boolean.getBoolean(APPROVE_PROPERTY) : builder.approving;
+        tolerance = builder.tolerance;
+        minimumMargin = builder.minimumMargin;
+        minimumSamples = builder.minimumSamples;
+        historySize = builder.historySize;
+        consecutiveRegressions = builder.consecutiveRegressions;
+        clock = builder.clock;
+    }
+
+    /**
+     * Builder for {@link PerformanceBaseline}.
+     */
+    public static class Builder {
+        private final File file;
+        private Boolean approving;
+        private double tolerance = 3.0;
+        private double minimumMargin = 0.1;
+        private int minimumSamples = 3;
+        private int historySize = 10;
+        private int consecutiveRegressions = 2;
+        private Stopwatch.Clock clock = new Stopwatch.Clock();
+
+        protected Builder(File file) {
+            if (file == null) {
+                throw new NullPointerException("file cannot be null");
+            }
+            this.file = file;
+        }
+
+        /**
+         * Specifies whether measurements are added to the baselines instead
+         * of being checked against them. Defaults to the value of the
+         * {@value PerformanceBaseline#APPROVE_PROPERTY} system property.
+         */
+        public Builder approving(boolean approving) {
+            this.approving = approving;
+            return this;
+        }
+
+        /**
+         * Specifies by how many standard deviations a measurement may exceed
+         * the mean of its baseline. Defaults to 3.
+         */
+        public Builder withTolerance(double standardDeviations) {
+            if (standardDeviations < 0) {
+                throw new IllegalArgumentException("tolerance must be non-negative");
+            }
+            this.tolerance = standardDeviations;
+            return this;
+        }
+
+        /**
+         * Specifies the fraction of the mean by which a measurement may
+         * always exceed its baseline, which matters for baselines with little
+         * variance. Defaults to 0.1.
+         */
+        public Builder withMinimumMargin(double fraction) {
+            if (fraction < 0) {
+                throw new IllegalArgumentException("minimum margin must be non-negative");
+            }
+            this.minimumMargin = fraction;
+            return this;
+        }
+
+        /**
+         * Specifies the number of measurements a baseline needs before tests
+         * are checked against it. Defaults to 3.
+         */
+        public Builder withMinimumSamples(int samples) {
+            if (samples < 1) {
+                throw new IllegalArgumentException("minimum samples must be positive");
+            }
+            this.minimumSamples = samples;
+            return this;
+        }
+
+        /**
+         * Specifies the number of most recent measurements a baseline keeps.
+         * Defaults to 10.
+         */
+        public Builder withHistorySize(int measurements) {
+            if (measurements < 1) {
+                throw new IllegalArgumentException("history size must be positive");
+            }
+            this.historySize = measurements;
+            return this;
+        }
+
+        /**
+         * Specifies the number of consecutive runs in which a test must
+         * regress before it fails. Defaults to 2.
+         */
+        public Builder withConsecutiveRegressions(int runs) {
+            if (runs < 1) {
+                throw new IllegalArgumentException("consecutive regressions must be positive");
+            }
+            this.consecutiveRegressions = runs;
+            return this;
+        }
+
+        Builder withClock(Stopwatch.Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public PerformanceBaseline build() {
+            return new PerformanceBaseline(this);
+        }
+    }
+
+    public Statement apply(final Statement base, final Description description) {
+        if (description.isSuite()) {
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    try {
+                        base.evaluate();
+                    } finally {
+                        save();
+                    }
+                }
+            };
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                ResourceUsage startUsage = ResourceUsage.ofCurrentThread();
+                long startNanos = clock.nanoTime();
+                base.evaluate();
+                long nanos = clock.nanoTime() - startNanos;
+                long allocatedBytes = ResourceUsage.ofCurrentThread().since(startUsage)
+                        .getAllocatedBytes();
+                verify(description.toString(), nanos, allocatedBytes);
+            }
+        };
+    }
+
+    private void verify(String key, long nanos, long allocatedBytes) {
+        BaselineStore store = store(file);
+        String regression;
+        synchronized (store) {
+            Baseline baseline = store.baseline(key);
+            if (approving) {
+                baseline.durations.add(nanos, historySize);
+                baseline.allocations.add(allocatedBytes, historySize);
+                baseline.regressions = 0;
+                regression = null;
+            } else {
+                regression = regression(baseline.durations, nanos, "duration", "ns");
+                if (regression == null) {
+                    regression = regression(
+                            baseline.allocations, allocatedBytes, "allocation", "bytes");
+                }
+                baseline.regressions = regression == null ? 0 : baseline.regressions + 1;
+                if (baseline.regressions < consecutiveRegressions) {
+                    regression = null;
+                }
+            }
+            store.dirty = true;
+        }
+        if (regression != null) {
+            throw new AssertionError(regression + " in " + consecutiveRegressions
+                    + " consecutive runs");
+        }
+    }
+
+    private String regression(Samples samples, long value, String name, String unit) {
+        if (value < 0 || samples.size() < minimumSamples) {
+            return null;
+        }
+        double mean = samples.mean();
+        double deviation = samples.standardDeviation();
+        double threshold = mean + Math.max(tolerance * deviation, minimumMargin * mean);
+        if (value <= threshold) {
+            return null;
+        }
+        return String.format(Locale.ENGLISH,
+                "%s of %d %s exceeds baseline of %.0f +- %.0f %s (threshold %.0f %s)",
+                name, value, unit, mean, deviation, unit, threshold, unit);
+    }
+
+    /**
+     * Writes the baselines of this rule's file if they changed since they
+     * were last written.
+     */
+    private void save() {
+        BaselineStore store = store(file);
+        synchronized (store) {
+            if (store.dirty) {
+                try {
+                    store.save(file);
+                    store.dirty = false;
+                } catch (IOException e) {
+                    // the measurements of this class are lost; the old baseline remains
+                }
+            }
+        }
+    }
+
+    private static BaselineStore store(File file) {
+        BaselineStore store = STORES.get(file);
+        if (store == null) {
+            BaselineStore loaded = BaselineStore.load(file);
+            store = STORES.putIfAbsent(file, loaded);
+            if (store == null) {
+                store = loaded;
+            }
+        }
+        return store;
+    }
+
+    private static class BaselineStore implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Baseline> baselines = new HashMap<String, Baseline>();
+
+        transient boolean dirty;
+
+        static BaselineStore load(File file) {
+            if (file.exists()) {
+                try {
+                    ObjectInputStream stream = new ObjectInputStream(new FileInputStream(file));
+                    try {
+                        return (BaselineStore) stream.readObject();
+                    } finally {
+                        stream.close();
+                    }
+                } catch (Exception e) {
+                    // unreadable or incompatible; start over
+                }
+            }
+            return new BaselineStore();
+        }
+
+        Baseline baseline(String key) {
+            Baseline baseline = baselines.get(key);
+            if (baseline == null) {
+                baseline = new Baseline();
+                baselines.put(key, baseline);
+            }
+            return baseline;
+        }
+
+        void save(File file) throws IOException {
+            ObjectOutputStream stream = new ObjectOutputStream(new FileOutputStream(file));
+            try {
+                stream.writeObject(this);
+            } finally {
+                stream.close();
+            }
+        }
+    }
+
+    private static class Baseline implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final Samples durations = new Samples();
+        final Samples allocations = new Samples();
+        int regressions;
+    }
+
+    private static class Samples implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final LinkedList<Long> values = new LinkedList<Long>();
+
+        void add(long value, int limit) {
+            if (value < 0) {
+                return;
+            }
+            values.addLast(value);
+            while (values.size() > limit) {
+                values.removeFirst();
+            }
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        double mean() {
+            double sum = 0;
+            for (long value : values) {
+                sum += value;
+            }
+            return sum / values.size();
+        }
+
+        double standardDeviation() {
+            if (values.size() < 2) {
+                return 0;
+            }
+            double mean = mean();
+            double squares = 0;
+            for (long value : values) {
+                squares += (value - mean) * (value - mean);
+            }
+            return Math.sqrt(squares / (values.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.junit.rules;
+
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * The ResourceMeter Rule measures the CPU time, allocated bytes and garbage
+ * collections of each test. Unlike {@link Stopwatch}, it measures the thread
+ * that runs the test, so it is not affected by other tests running in
+ * parallel.
+ *
+ * <p>Override {@link #finished(ResourceUsage, Description)} to act on the
+ * measurements, or pass a {@link ResourceUsageListener} that collects them
+ * into a metrics file:
+ *
+ * <pre>
+ * public static class ExpensiveTests {
+ *   &#064;Rule
+ *   public ResourceMeter meter = new ResourceMeter() {
+ *     &#064;Override
+ *     protected void finished(ResourceUsage usage, Description description) {
+ *       System.out.println(description + " allocated " + usage.getAllocatedBytes());
+ *     }
+ *   };
+ * }
+ * </pre>
+ *
+ * <p>The rule measures the statement it wraps, so it should be applied inside
+ * a {@link Timeout} rule in order to measure the thread the timeout runs the
+ * test on.
+ *
+ * @since 4.13
+ */
+public class ResourceMeter implements TestRule {
+    private final ResourceUsageListener listener;
+    private volatile ResourceUsage usage;
+
+    public ResourceMeter() {
+        this(null);
+    }
+
+    /**
+     * Creates a rule that records each measurement into the given listener.
+     */
+    public ResourceMeter(ResourceUsageListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the resources used by the most recent test, or {@code null} if
+     * no test has finished yet.
+     */
+    public ResourceUsage usage() {
+        return usage;
+    }
+
+    /**
+     * Invoked when a test finishes, whether passing or failing.
+     */
+    protected void finished(ResourceUsage usage, Description description) {
+    }
+
+    public Statement apply(final Statement base, final Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                ResourceUsage start = ResourceUsage.ofCurrentThread();
+                try {
+                    base.evaluate();
+                } finally {
+                    ResourceUsage used = ResourceUsage.ofCurrentThread().since(start);
+                    usage = used;
+                    if (listener != null) {
+                        listener.record(description, used);
+                    }
+                    finished(used, description);
+                }
+            }
+        };
+    }
+}
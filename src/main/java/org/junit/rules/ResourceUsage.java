@@ -0,0 +1,139 @@
+package org.junit.rules;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * The resources used by a thread: its CPU time, the bytes it allocated, and
+ * the collections the garbage collectors performed meanwhile. Instances are
+ * either snapshots taken by {@link #ofCurrentThread()} or the difference of
+ * two snapshots computed by {@link #since(ResourceUsage)}.
+ *
+ * <p>Values that the JVM cannot measure are reported as {@code -1}. Allocated
+ * bytes are only available on JVMs that implement
+ * {@code com.sun.management.ThreadMXBean}. Garbage collections are counted for
+ * the whole JVM, so they include collections caused by other threads.
+ *
+ * @since 4.13
+ */
+public final class ResourceUsage {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final Method GET_THREAD_ALLOCATED_BYTES = getThreadAllocatedBytesMethod();
+
+    private final long cpuNanos;
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcMillis;
+
+    public ResourceUsage(long cpuNanos, long allocatedBytes, long gcCount, long gcMillis) {
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    /**
+     * Takes a snapshot of the resources used by the current thread so far.
+     */
+    public static ResourceUsage ofCurrentThread() {
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount = add(gcCount, collector.getCollectionCount());
+            gcMillis = add(gcMillis, collector.getCollectionTime());
+        }
+        return new ResourceUsage(currentThreadCpuTime(), currentThreadAllocatedBytes(),
+                gcCount, gcMillis);
+    }
+
+    /**
+     * Returns the resources used between {@code start} and this snapshot.
+     */
+    public ResourceUsage since(ResourceUsage start) {
+        return new ResourceUsage(
+                subtract(cpuNanos, start.cpuNanos),
+                subtract(allocatedBytes, start.allocatedBytes),
+                subtract(gcCount, start.gcCount),
+                subtract(gcMillis, start.gcMillis));
+    }
+
+    /**
+     * Returns the CPU time in nanoseconds, or {@code -1} if not measured.
+     */
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * Returns the number of bytes allocated, or {@code -1} if not measured.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the number of garbage collections, or {@code -1} if not measured.
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * Returns the time spent in garbage collections in milliseconds, or
+     * {@code -1} if not measured.
+     */
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceUsage[cpuNanos=" + cpuNanos + ", allocatedBytes=" + allocatedBytes
+                + ", gcCount=" + gcCount + ", gcMillis=" + gcMillis + "]";
+    }
+
+    private static long add(long total, long value) {
+        return (total < 0 || value < 0) ? -1 : total + value;
+    }
+
+    private static long subtract(long end, long start) {
+        return (end < 0 || start < 0) ? -1 : end - start;
+    }
+
+    private static long currentThreadCpuTime() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+            try {
+                return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            } catch (UnsupportedOperationException e) {
+            }
+        }
+        return -1;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (GET_THREAD_ALLOCATED_BYTES != null) {
+            try {
+                Object bytes = GET_THREAD_ALLOCATED_BYTES.invoke(
+                        THREAD_MX_BEAN, Thread.currentThread().getId());
+                return ((Long) bytes).longValue();
+            } catch (Exception e) {
+                // measuring is disabled or not supported by this JVM
+            }
+        }
+        return -1;
+    }
+
+    private static Method getThreadAllocatedBytesMethod() {
+        try {
+            Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+            if (type.isInstance(THREAD_MX_BEAN)) {
+                return type.getMethod("getThreadAllocatedBytes", long.class);
+            }
+        } catch (Exception e) {
+            // not a HotSpot-based JVM
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package org.junit.rules;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Records the {@link ResourceUsage} of each test and writes it to a metrics
+ * file when the run finishes. The file has one tab-separated line per test:
+ * its display name, CPU time in nanoseconds, bytes allocated, and the number
+ * and duration in milliseconds of the garbage collections during the test.
+ *
+ * <p>By itself, the listener measures the thread that fires the test's
+ * events, from {@link #testStarted(Description)} to
+ * {@link #testFinished(Description)}. Tests whose body runs on another thread,
+ * e.g. because of a timeout, can be measured precisely with a
+ * {@link ResourceMeter} that records into this listener.
+ *
+ * @since 4.13
+ */
+@RunListener.ThreadSafe
+public class ResourceUsageListener extends RunListener {
+    private static final String HEADER = "# test\tcpuNanos\tallocatedBytes\tgcCount\tgcMillis";
+
+    private final File metricsFile;
+    private final ConcurrentMap<Description, ResourceUsage> started =
+            new ConcurrentHashMap<Description, ResourceUsage>();
+    private final ConcurrentMap<Description, ResourceUsage> measured =
+            new ConcurrentHashMap<Description, ResourceUsage>();
+    private final Queue<Description> finished = new ConcurrentLinkedQueue<Description>();
+
+    /**
+     * @param metricsFile the file the measurements are written to, or
+     * {@code null} to only keep them in memory
+     */
+    public ResourceUsageListener(File metricsFile) {
+        this.metricsFile = metricsFile;
+    }
+
+    @Override
+    public void testStarted(Description description) {
+        started.put(description, ResourceUsage.ofCurrentThread());
+    }
+
+    @Override
+    public void testFinished(Description description) {
+        ResourceUsage start = started.remove(description);
+        if (start != null) {
+            record(description, ResourceUsage.ofCurrentThread().since(start));
+        }
+    }
+
+    /**
+     * Records the resources used by a test. The first usage recorded for a
+     * test is kept; later ones are ignored.
+     */
+    public void record(Description description, ResourceUsage usage) {
+        if (measured.putIfAbsent(description, usage) == null) {
+            finished.add(description);
+        }
+    }
+
+    /**
+     * Returns the recorded usages, in the order in which the tests finished.
+     */
+    public Map<Description, ResourceUsage> getUsages() {
+        Map<Description, ResourceUsage> usages = new LinkedHashMap<Description, ResourceUsage>();
+        for (Description description : finished) {
+            usages.put(description, measured.get(description));
+        }
+        return usages;
+    }
+
+    @Override
+    public void testRunFinished(Result result) throws IOException {
+        if (metricsFile != null) {
+            write(metricsFile);
+        }
+    }
+
+    private void write(File file) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(HEADER);
+            writer.write('\n');
+            for (Map.Entry<Description, ResourceUsage> entry : getUsages().entrySet()) {
+                ResourceUsage usage = entry.getValue();
+                writer.write(entry.getKey().getDisplayName() + '\t' + usage.getCpuNanos()
+                        + '\t' + usage.getAllocatedBytes() + '\t' + usage.getGcCount()
+                        + '\t' + usage.getGcMillis() + '\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -4,6 +4,14 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.junit.Rule;
 
@@ -37,11 +45,24 @@ import org.junit.Rule;
  *  public TemporaryFolder folder= TemporaryFolder.builder().assureDeletion().build();
  * </pre>
  *
+ * <p>Tests that create many files can have the folder deleted by several
+ * threads, or in the background while the next test already runs:
+ * <pre>
+ *  &#064;Rule
+ *  public TemporaryFolder folder= TemporaryFolder.builder().parallelDeletion().build();
+ * </pre>
+ *
  * @since 4.7
  */
 public class TemporaryFolder extends ExternalResource {
+    private static final File MEMORY_BACKED_FOLDER = new File("/dev/shm");
+    private static final int PARALLEL_DELETION_THREADS = Runtime.getRuntime().availableProcessors();
+
     private final File parentFolder;
     private final boolean assureDeletion;
+    private final boolean parallelDeletion;
+    private final boolean asynchronousDeletion;
+    private final boolean preferMemoryBackedFolder;
     private File folder;
 
     /**
@@ -62,6 +83,9 @@ public class TemporaryFolder extends ExternalResource {
     public TemporaryFolder(File parentFolder) {
         this.parentFolder = parentFolder;
         this.assureDeletion = false;
+        this.parallelDeletion = false;
+        this.asynchronousDeletion = false;
+        this.preferMemoryBackedFolder = false;
     }
 
     /**
@@ -69,8 +93,15 @@ public class TemporaryFolder extends ExternalResource {
      * values from a builder.
      */
     protected TemporaryFolder(Builder builder) {
+        if (builder.assureDeletion && builder.asynchronousDeletion) {
+            throw new IllegalStateException(
+                    "assured deletion cannot be combined with asynchronous deletion");
+        }
         this.parentFolder = builder.parentFolder;
         this.assureDeletion = builder.assureDeletion;
+        this.parallelDeletion = builder.parallelDeletion;
+        this.asynchronousDeletion = builder.asynchronousDeletion;
+        this.preferMemoryBackedFolder = builder.preferMemoryBackedFolder;
     }
 
     /**
@@ -90,6 +121,9 @@ public class TemporaryFolder extends ExternalResource {
     public static class Builder {
         private File parentFolder;
         private boolean assureDeletion;
+        private boolean parallelDeletion;
+        private boolean asynchronousDeletion;
+        private boolean preferMemoryBackedFolder;
 
         protected Builder() {}
 
@@ -117,6 +151,45 @@ public class TemporaryFolder extends ExternalResource {
             return this;
         }
 
+        /**
+         * Deletes the files of the temporary folder on several threads, in
+         * batches, and then its folders. This pays off for folders with many
+         * files, wherever they are in the tree.
+         *
+         * @return this
+         */
+        public Builder parallelDeletion() {
+            this.parallelDeletion = true;
+            return this;
+        }
+
+        /**
+         * Deletes the temporary folder on a background thread, so that the
+         * next test can start right away. Cannot be combined with
+         * {@link #assureDeletion()}, because the outcome of the deletion is
+         * not known when the test finishes. Files that have not been deleted
+         * when the JVM exits are left behind.
+         *
+         * @return this
+         */
+        public Builder asynchronousDeletion() {
+            this.asynchronousDeletion = true;
+            return this;
+        }
+
+        /**
+         * Creates the temporary folder in a memory-backed file system if one
+         * is available ({@code /dev/shm} on Linux), instead of in the system
+         * default temporary-file directory. Has no effect if a
+         * {@link #parentFolder(File) parent folder} is set.
+         *
+         * @return this
+         */
+        public Builder preferMemoryBackedFolder() {
+            this.preferMemoryBackedFolder = true;
+            return this;
+        }
+
         /**
          * Builds a {@link TemporaryFolder} instance using the values in this builder.
          */
@@ -141,7 +214,16 @@ public class TemporaryFolder extends ExternalResource {
      * for testing purposes only. Do not use.
      */
     public void create() throws IOException {
-        folder = createTemporaryFolderIn(parentFolder);
+        folder = createTemporaryFolderIn(resolveParentFolder());
+    }
+
+    private File resolveParentFolder() {
+        if (parentFolder == null && preferMemoryBackedFolder
+                && MEMORY_BACKED_FOLDER.isDirectory()
+                && MEMORY_BACKED_FOLDER.canWrite()) {
+            return MEMORY_BACKED_FOLDER;
+        }
+        return parentFolder;
     }
 
     /**
@@ -236,11 +318,24 @@ public class TemporaryFolder extends ExternalResource {
     /**
      * Delete all files and folders under the temporary folder. Usually not
      * called directly, since it is automatically applied by the {@link Rule}.
+     * If the folder is deleted asynchronously, this only schedules its
+     * deletion.
      *
      * @throws AssertionError if unable to clean up resources
      * and deletion of resources is assured.
      */
     public void delete() {
+        if (asynchronousDeletion) {
+            if (folder != null) {
+                final File deletedFolder = folder;
+                DeletionExecutors.BACKGROUND.execute(new Runnable() {
+                    public void run() {
+                        deleteFolder(deletedFolder);
+                    }
+                });
+            }
+            return;
+        }
         if (!tryDelete()) {
             if (assureDeletion) {
                 fail("Unable to clean up temporary folder " + folder);
@@ -260,9 +355,71 @@ public class TemporaryFolder extends ExternalResource {
             return true;
         }
         
-        return recursiveDelete(folder);
+        return deleteFolder(folder);
     }
-    
+
+    private boolean deleteFolder(File root) {
+        if (parallelDeletion) {
+            return parallelDelete(root);
+        }
+        return recursiveDelete(root);
+    }
+
+    private boolean parallelDelete(File root) {
+        List<File> files = new ArrayList<File>();
+        List<File> folders = new ArrayList<File>();
+        collect(root, files, folders);
+        int batchSize = Math.max(1, files.size() / (4 * PARALLEL_DELETION_THREADS));
+        List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < files.size(); i += batchSize) {
+            final List<File> batch = files.subList(i, Math.min(files.size(), i + batchSize));
+            results.add(DeletionExecutors.PARALLEL.submit(new Callable<Boolean>() {
+                public Boolean call() {
+                    boolean result = true;
+                    for (File each : batch) {
+                        result = each.delete() && result;
+                    }
+                    return result;
+                }
+            }));
+        }
+        boolean result = true;
+        for (Future<Boolean> each : results) {
+            try {
+                result = each.get() && result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                result = false;
+            }
+        }
+        for (int i = folders.size() - 1; i >= 0; i--) {
+            result = folders.get(i).delete() && result;
+        }
+        return result;
+    }
+
+    /**
+     * Adds the files under {@code folder} to {@code files}, and
+     * {@code folder} and its sub-folders to {@code folders}, each folder
+     * before its sub-folders.
+     */
+    private static void collect(File folder, List<File> files, List<File> folders) {
+        folders.add(folder);
+        File[] entries = folder.listFiles();
+        if (entries == null) {
+            return;
+        }
+        for (File each : entries) {
+            if (each.isDirectory()) {
+                collect(each, files, folders);
+            } else {
+                files.add(each);
+            }
+        }
+    }
+
     private boolean recursiveDelete(File file) {
         boolean result = true;
         File[] files = file.listFiles();
@@ -273,4 +430,31 @@ public class TemporaryFolder extends ExternalResource {
         }
         return result && file.delete();
     }
+
+    /**
+     * Holds the shared executors used for deletion, so that their threads are
+     * only started when a folder is deleted in parallel or in the background.
+     */
+    private static class DeletionExecutors {
+        static final ExecutorService PARALLEL = Executors.newFixedThreadPool(
+                PARALLEL_DELETION_THREADS,
+                new DaemonThreadFactory("TemporaryFolder-parallel-deletion"));
+
+        static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(
+                new DaemonThreadFactory("TemporaryFolder-background-deletion"));
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String name;
+
+        DaemonThreadFactory(String name) {
+            this.name = name;
+        }
+
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -41,6 +41,8 @@ public class Timeout implements TestRule {
     private final long timeout;
     private final TimeUnit timeUnit;
     private final boolean lookForStuckThread;
+    private final boolean sharedWatchdog;
+    private final boolean threadDiagnosis;
 
     /**
      * Returns a new builder for building an instance.
@@ -81,6 +83,8 @@ public class Timeout implements TestRule {
         this.timeout = timeout;
         this.timeUnit = timeUnit;
         lookForStuckThread = false;
+        sharedWatchdog = false;
+        threadDiagnosis = false;
     }
 
     /**
@@ -93,6 +97,8 @@ public class Timeout implements TestRule {
         timeout = builder.getTimeout();
         timeUnit = builder.getTimeUnit();
         lookForStuckThread = builder.getLookingForStuckThread();
+        sharedWatchdog = builder.getSharedWatchdog();
+        threadDiagnosis = builder.getThreadDiagnosis();
     }
 
     /**
@@ -134,6 +140,26 @@ public class Timeout implements TestRule {
         return lookForStuckThread;
     }
 
+    /**
+     * Gets whether this {@code Timeout} runs tests on the thread that
+     * evaluates them, with a shared watchdog enforcing the timeout.
+     *
+     * @since 4.13
+     */
+    protected final boolean getSharedWatchdog() {
+        return sharedWatchdog;
+    }
+
+    /**
+     * Gets whether this {@code Timeout} diagnoses timeouts with the thread
+     * management interface of the JVM.
+     *
+     * @since 4.13
+     */
+    protected final boolean getThreadDiagnosis() {
+        return threadDiagnosis;
+    }
+
     /**
      * Creates a {@link Statement} that will run the given
      * {@code statement}, and timeout the operation based
@@ -147,6 +173,8 @@ public class Timeout implements TestRule {
         return FailOnTimeout.builder()
             .withTimeout(timeout, timeUnit)
             .withLookingForStuckThread(lookForStuckThread)
+            .withSharedWatchdog(sharedWatchdog)
+            .withThreadDiagnosis(threadDiagnosis)
             .build(statement);
     }
 
@@ -169,6 +197,8 @@ public class Timeout implements TestRule {
      */
     public static class Builder {
         private boolean lookForStuckThread = false;
+        private boolean sharedWatchdog = false;
+        private boolean threadDiagnosis = false;
         private long timeout = 0;
         private TimeUnit timeUnit = TimeUnit.SECONDS;
 
@@ -222,6 +252,46 @@ public class Timeout implements TestRule {
             return lookForStuckThread;
         }
 
+        /**
+         * Specifies whether to run tests on the thread that evaluates them
+         * instead of on a new thread per test. If this feature is enabled, a
+         * single watchdog thread shared by all tests interrupts a test once it
+         * times out. A test that ignores the interrupt keeps running until it
+         * returns on its own.
+         *
+         * @param enable {@code true} to enable the feature
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withSharedWatchdog(boolean enable) {
+            this.sharedWatchdog = enable;
+            return this;
+        }
+
+        protected boolean getSharedWatchdog() {
+            return sharedWatchdog;
+        }
+
+        /**
+         * Specifies whether to diagnose a timeout with the thread management
+         * interface of the JVM. If a timeout occurs and this feature is
+         * enabled, the rule reports deadlocked threads, the thread that holds
+         * the lock the test is blocked on, or else the thread that appears to
+         * be stuck, capturing only the innermost frames of each.
+         *
+         * @param enable {@code true} to enable the feature
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withThreadDiagnosis(boolean enable) {
+            this.threadDiagnosis = enable;
+            return this;
+        }
+
+        protected boolean getThreadDiagnosis() {
+            return threadDiagnosis;
+        }
+
 
         /**
          * Builds a {@link Timeout} instance using the values in this builder.,
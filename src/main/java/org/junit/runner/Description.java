@@ -5,6 +5,8 @@ import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -141,7 +143,7 @@ public class Description implements Serializable {
      * serialization compatibility. 
      * See https://github.com/junit-team/junit4/issues/976
      */
-    private final Collection<Description> fChildren = new ConcurrentLinkedQueue<Description>();
+    private final Collection<Description> fChildren;
     private final String fDisplayName;
     private final Serializable fUniqueId;
     private final Annotation[] fAnnotations;
@@ -164,6 +166,15 @@ public class Description implements Serializable {
         this.fDisplayName = displayName;
         this.fUniqueId = uniqueId;
         this.fAnnotations = annotations;
+        this.fChildren = new ConcurrentLinkedQueue<Description>();
+    }
+
+    private Description(Description description, Collection<Description> children) {
+        this.fTestClass = description.fTestClass;
+        this.fDisplayName = description.fDisplayName;
+        this.fUniqueId = description.fUniqueId;
+        this.fAnnotations = description.fAnnotations;
+        this.fChildren = children;
     }
 
     /**
@@ -177,6 +188,8 @@ public class Description implements Serializable {
      * Add <code>Description</code> as a child of the receiver.
      *
      * @param description the soon-to-be child.
+     * @throws UnsupportedOperationException if the receiver is an
+     * {@link #unmodifiableCopy() unmodifiable copy}
      */
     public void addChild(Description description) {
         fChildren.add(description);
@@ -252,6 +265,20 @@ public class Description implements Serializable {
         return new Description(fTestClass, fDisplayName, fAnnotations);
     }
 
+    /**
+     * Returns a copy of this description and of its descendants to which no
+     * children can be added, so that it can be shared.
+     *
+     * @since 4.13
+     */
+    public Description unmodifiableCopy() {
+        List<Description> children = new ArrayList<Description>(fChildren.size());
+        for (Description each : fChildren) {
+            children.add(each.unmodifiableCopy());
+        }
+        return new Description(this, Collections.unmodifiableList(children));
+    }
+
     /**
      * @return the annotation of type annotationType that is attached to this description node,
      *         or null if none exists
@@ -0,0 +1,252 @@
+package org.junit.runner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.internal.IsolatedClassLoader;
+import org.junit.internal.JUnitSystem;
+
+/**
+ * A long-lived process that runs tests on request, so that repeated runs of a
+ * few tests do not pay for starting a JVM and warming up JUnit every time.
+ * The daemon listens on a loopback port; each request is the command line
+ * that would be passed to {@link JUnitCore#main(String...)}, i.e. the names of
+ * test classes and {@code --filter} specs. The test classes of each request
+ * are loaded by a new {@link IsolatedClassLoader}, so they start with fresh
+ * static state and pick up recompiled classes, while JUnit itself stays loaded
+ * and compiled. The output of the run, including what the threads of the
+ * request print to {@code System.out} and {@code System.err}, is streamed
+ * back to the client in the default charset of the daemon.
+ *
+ * <p>Start the daemon with
+ * <pre>
+ * java org.junit.runner.JUnitDaemon [port]
+ * </pre>
+ * and run tests with
+ * <pre>
+ * java org.junit.runner.JUnitDaemon --connect=port TestClass1 TestClass2 ...
+ * </pre>
+ * which exits with the status {@link JUnitCore#main(String...)} would have
+ * exited with. The request {@code --stop} stops the daemon.
+ *
+ * <p>Requests are run one at a time.
+ *
+ * @since 4.13
+ */
+public class JUnitDaemon {
+    /**
+     * The prefix of the last line of a response, which is followed by the
+     * exit status of the run.
+     */
+    public static final String EXIT_STATUS_PREFIX = "junit-daemon-exit-status: ";
+
+    private static final String CONNECT_OPTION = "--connect=";
+    private static final String STOP_REQUEST = "--stop";
+    private static final String ENCODING = "UTF-8";
+    private static final int REQUEST_TIMEOUT_MILLIS = 60 * 1000;
+
+    /**
+     * The output of the request run by a thread; inherited by the threads the
+     * tests start.
+     */
+    private static final InheritableThreadLocal<PrintStream> REQUEST_OUTPUT =
+            new InheritableThreadLocal<PrintStream>();
+
+    private final ServerSocket serverSocket;
+
+    /**
+     * Creates a daemon that listens on the given port of the loopback
+     * interface. If {@code port} is {@code 0}, a free port is chosen.
+     */
+    public JUnitDaemon(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getByName(null));
+    }
+
+    /**
+     * Starts a daemon, or sends a request to a daemon if the first argument is
+     * {@code --connect=port}.
+     */
+    public static void main(String... args) throws IOException {
+        if (args.length > 0 && args[0].startsWith(CONNECT_OPTION)) {
+            int port = Integer.parseInt(args[0].substring(CONNECT_OPTION.length()));
+            List<String> request = new ArrayList<String>();
+            for (int i = 1; i < args.length; i++) {
+                request.add(args[i]);
+            }
+            System.exit(send(port, request, System.out));
+        } else {
+            JUnitDaemon daemon = new JUnitDaemon(args.length > 0 ? Integer.parseInt(args[0]) : 0);
+            System.out.println("JUnit daemon listening on port " + daemon.getPort());
+            daemon.serve();
+        }
+    }
+
+    /**
+     * Sends a request to the daemon listening on the given port, and copies the
+     * output of the run to {@code out}.
+     *
+     * @return the exit status of the run
+     */
+    public static int send(int port, List<String> args, PrintStream out) throws IOException {
+        Socket socket = new Socket(InetAddress.getByName(null), port);
+        try {
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), ENCODING);
+            for (String each : args) {
+                writer.write(each);
+                writer.write('\n');
+            }
+            writer.write('\n');
+            writer.flush();
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream()));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(EXIT_STATUS_PREFIX)) {
+                    return Integer.parseInt(line.substring(EXIT_STATUS_PREFIX.length()));
+                }
+                out.println(line);
+            }
+            return 1;
+        } finally {
+            socket.close();
+        }
+    }
+
+    /**
+     * Returns the port the daemon listens on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Handles requests until the daemon is stopped. A request that fails is
+     * reported on the standard error of the daemon, which then handles the
+     * next request.
+     */
+    public void serve() throws IOException {
+        PrintStream systemOut = System.out;
+        PrintStream systemErr = System.err;
+        System.setOut(new PrintStream(new RequestOutputStream(systemOut), true));
+        System.setErr(new PrintStream(new RequestOutputStream(systemErr), true));
+        try {
+            while (!serverSocket.isClosed()) {
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (SocketException e) {
+                    if (serverSocket.isClosed()) {
+                        return;
+                    }
+                    throw e;
+                }
+                try {
+                    handle(socket);
+                } catch (Exception e) {
+                    systemErr.println("JUnit daemon: request failed");
+                    e.printStackTrace(systemErr);
+                } finally {
+                    socket.close();
+                }
+            }
+        } finally {
+            System.setOut(systemOut);
+            System.setErr(systemErr);
+        }
+    }
+
+    /**
+     * Stops the daemon.
+     */
+    public void stop() throws IOException {
+        serverSocket.close();
+    }
+
+    private void handle(Socket socket) throws IOException {
+        socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), ENCODING));
+        List<String> args = new ArrayList<String>();
+        String line;
+        while ((line = reader.readLine()) != null && line.length() > 0) {
+            args.add(line);
+        }
+        PrintStream out = new PrintStream(socket.getOutputStream(), true);
+        if (args.size() == 1 && args.get(0).equals(STOP_REQUEST)) {
+            out.println(EXIT_STATUS_PREFIX + 0);
+            stop();
+            return;
+        }
+        Result result = run(args.toArray(new String[args.size()]), out);
+        out.println(EXIT_STATUS_PREFIX + (result.wasSuccessful() ? 0 : 1));
+    }
+
+    private Result run(String[] args, final PrintStream out) {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        IsolatedClassLoader classLoader =
+                new IsolatedClassLoader(JUnitDaemon.class.getClassLoader());
+        thread.setContextClassLoader(classLoader);
+        REQUEST_OUTPUT.set(out);
+        try {
+            return new JUnitCore().runMain(new JUnitSystem() {
+                @Deprecated
+                public void exit(int code) {
+                    // the exit status is sent to the client instead
+                }
+
+                public PrintStream out() {
+                    return out;
+                }
+            }, args);
+        } finally {
+            REQUEST_OUTPUT.remove();
+            thread.setContextClassLoader(contextClassLoader);
+            classLoader.release();
+        }
+    }
+
+    /**
+     * Writes to the output of the request that the current thread, or the
+     * thread that started it, is running, or else to the stream that was
+     * replaced.
+     */
+    private static class RequestOutputStream extends OutputStream {
+        private final OutputStream replaced;
+
+        RequestOutputStream(OutputStream replaced) {
+            this.replaced = replaced;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target().flush();
+        }
+
+        private OutputStream target() {
+            OutputStream out = REQUEST_OUTPUT.get();
+            return out == null ? replaced : out;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Comparator;
 import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
 import org.junit.internal.requests.ClassRequest;
 import org.junit.internal.requests.FilterRequest;
+import org.junit.internal.requests.RetryingRequest;
 import org.junit.internal.requests.SortingRequest;
 import org.junit.internal.runners.ErrorReportingRunner;
 import org.junit.runner.manipulation.Filter;
@@ -166,4 +167,40 @@ public abstract class Request {
     public Request sortWith(Comparator<Description> comparator) {
         return new SortingRequest(this, comparator);
     }
+
+    /**
+     * Returns a Request that runs each test that fails again, up to
+     * <code>maxRetries</code> times, until it passes. Failing tests are retried
+     * after the run has finished, so that the class fixtures of a retry do not
+     * interfere with the classes of the run, each retry by a new runner for the
+     * single test. Listeners are told that a failing test finished once its
+     * retries are done. If a retry
+     * passes, the failures of the test are not reported; listeners are told
+     * with {@link org.junit.runner.notification.RunListener#testPassedOnRetry}
+     * instead. Otherwise the failures of the first attempt are reported after
+     * the retries. The time spent on retries is reported by
+     * {@link org.junit.runner.notification.RunListener#testRetried}. Tests that
+     * cannot be run on their own by their class, and runs that have been asked
+     * to stop, are not retried.
+     *
+     * @param maxRetries the maximum number of times a failing test is run again
+     * @return a Request that retries failing tests
+     * @since 4.13
+     */
+    public Request retryFailures(int maxRetries) {
+        return new RetryingRequest(this, maxRetries, false);
+    }
+
+    /**
+     * Returns a Request like {@link #retryFailures(int)} that runs each retry
+     * on a new thread, so that retries do not see thread-local state left
+     * behind by earlier attempts.
+     *
+     * @param maxRetries the maximum number of times a failing test is run again
+     * @return a Request that retries failing tests on new threads
+     * @since 4.13
+     */
+    public Request retryFailuresOnNewThreads(int maxRetries) {
+        return new RetryingRequest(this, maxRetries, true);
+    }
 }
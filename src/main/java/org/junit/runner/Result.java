@@ -31,6 +31,8 @@ public class Result implements Serializable {
     private final CopyOnWriteArrayList<Failure> failures;
     private final AtomicLong runTime;
     private final AtomicLong startTime;
+    private final AtomicLong retryTime = new AtomicLong();
+    private final AtomicInteger flakyCount = new AtomicInteger();
 
     /** Only set during deserialization process. */
     private SerializedForm serializedForm;
@@ -72,6 +74,26 @@ public class Result implements Serializable {
         return runTime.get();
     }
 
+    /**
+     * Returns the number of milliseconds spent running failed tests again.
+     * This is not kept when the result is serialized.
+     *
+     * @since 4.13
+     */
+    public long getRetryTime() {
+        return retryTime.get();
+    }
+
+    /**
+     * Returns the number of tests that failed and then passed when they were
+     * run again. This is not kept when the result is serialized.
+     *
+     * @since 4.13
+     */
+    public int getFlakyCount() {
+        return flakyCount.get();
+    }
+
     /**
      * @return the {@link Failure}s describing tests that failed and the problems they encountered
      */
@@ -139,6 +161,16 @@ public class Result implements Serializable {
         public void testAssumptionFailure(Failure failure) {
             // do nothing: same as passing (for 4.5; may change in 4.6)
         }
+
+        @Override
+        public void testRetried(Description description, long runTime) {
+            retryTime.addAndGet(runTime);
+        }
+
+        @Override
+        public void testPassedOnRetry(Description description, List<Failure> failures) {
+            flakyCount.getAndIncrement();
+        }
     }
 
     /**
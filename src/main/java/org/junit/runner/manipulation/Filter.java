@@ -1,5 +1,9 @@
 package org.junit.runner.manipulation;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.runner.Description;
 import org.junit.runner.Request;
 
@@ -68,6 +72,49 @@ public abstract class Filter {
         };
     }
 
+    /**
+     * Returns a {@code Filter} that only runs the methods described by
+     * {@code desiredDescriptions}. Unlike intersecting or combining filters
+     * created by {@link #matchMethodDescription(Description)}, the filter looks
+     * the descriptions up in hash sets, so it decides each test in constant
+     * time however many methods are desired.
+     *
+     * @since 4.13
+     */
+    public static Filter matchMethodDescriptions(Collection<Description> desiredDescriptions) {
+        final Set<Description> descriptions = new HashSet<Description>(desiredDescriptions);
+        final Set<String> classNames = new HashSet<String>();
+        for (Description each : descriptions) {
+            if (each.getClassName() != null) {
+                classNames.add(each.getClassName());
+            }
+        }
+        return new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                if (description.isTest()) {
+                    return descriptions.contains(description);
+                }
+                if (description.getClassName() != null
+                        && classNames.contains(description.getClassName())) {
+                    // the runner of the class filters its methods itself
+                    return true;
+                }
+                for (Description each : description.getChildren()) {
+                    if (shouldRun(each)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String describe() {
+                return String.format("%d methods", descriptions.size());
+            }
+        };
+    }
+
 
     /**
      * @param description the description of the test to be run
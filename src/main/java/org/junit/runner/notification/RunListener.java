@@ -5,6 +5,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.List;
 
 import org.junit.runner.Description;
 import org.junit.runner.Result;
@@ -122,6 +123,31 @@ public class RunListener {
     public void testIgnored(Description description) throws Exception {
     }
 
+    /**
+     * Called when a test that failed has been run again, for example because
+     * the run was requested with {@link org.junit.runner.Request#retryFailures(int)}.
+     * The events of the retry itself are not reported.
+     *
+     * @param description the description of the test that was run again
+     * @param runTime the number of milliseconds the retry took
+     * @since 4.13
+     */
+    public void testRetried(Description description, long runTime) throws Exception {
+    }
+
+    /**
+     * Called when a test that failed passed when it was run again. The
+     * failures of the earlier attempts are not reported by
+     * {@link #testFailure(Failure)}.
+     *
+     * @param description the description of the flaky test
+     * @param failures the failures of the earlier attempts
+     * @since 4.13
+     */
+    public void testPassedOnRetry(Description description, List<Failure> failures)
+            throws Exception {
+    }
+
 
     /**
      * Indicates a {@code RunListener} that can have its methods called
@@ -192,6 +192,40 @@ public class RunNotifier {
         }.run();
     }
 
+    /**
+     * Invoke to tell listeners that a test that failed has been run again.
+     *
+     * @param description the description of the test that was run again
+     * @param runTime the number of milliseconds the retry took
+     * @since 4.13
+     */
+    public void fireTestRetried(final Description description, final long runTime) {
+        new SafeNotifier() {
+            @Override
+            protected void notifyListener(RunListener each) throws Exception {
+                each.testRetried(description, runTime);
+            }
+        }.run();
+    }
+
+    /**
+     * Invoke to tell listeners that a test that failed passed when it was run
+     * again.
+     *
+     * @param description the description of the flaky test
+     * @param failures the failures of the earlier attempts
+     * @since 4.13
+     */
+    public void fireTestPassedOnRetry(final Description description,
+            final List<Failure> failures) {
+        new SafeNotifier() {
+            @Override
+            protected void notifyListener(RunListener each) throws Exception {
+                each.testPassedOnRetry(description, failures);
+            }
+        }.run();
+    }
+
     /**
      * Ask that the tests run stop before starting the next test. Phrased politely because
      * the test currently running will not be interrupted. It seems a little odd to put this
@@ -1,5 +1,7 @@
 package org.junit.runner.notification;
 
+import java.util.List;
+
 import org.junit.runner.Description;
 import org.junit.runner.Result;
 
@@ -78,6 +80,21 @@ final class SynchronizedRunListener extends RunListener {
         }
     }
 
+    @Override
+    public void testRetried(Description description, long runTime) throws Exception {
+        synchronized (monitor) {
+            listener.testRetried(description, runTime);
+        }
+    }
+
+    @Override
+    public void testPassedOnRetry(Description description, List<Failure> failures)
+            throws Exception {
+        synchronized (monitor) {
+            listener.testPassedOnRetry(description, failures);
+        }
+    }
+
     @Override
     public int hashCode() {
         return listener.hashCode();
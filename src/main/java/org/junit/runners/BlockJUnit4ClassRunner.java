@@ -3,6 +3,7 @@ package org.junit.runners;
 import static org.junit.internal.runners.rules.RuleMemberValidator.RULE_METHOD_VALIDATOR;
 import static org.junit.internal.runners.rules.RuleMemberValidator.RULE_VALIDATOR;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -14,7 +15,6 @@ import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.Test.None;
-import org.junit.internal.runners.model.ReflectiveCallable;
 import org.junit.internal.runners.statements.ExpectException;
 import org.junit.internal.runners.statements.Fail;
 import org.junit.internal.runners.statements.FailOnTimeout;
@@ -278,15 +278,12 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
      * This can be overridden in subclasses, either by overriding this method,
      * or the implementations creating each sub-statement.
      */
-    protected Statement methodBlock(final FrameworkMethod method) {
+    protected Statement methodBlock(FrameworkMethod method) {
         Object test;
         try {
-            test = new ReflectiveCallable() {
-                @Override
-                protected Object runReflectiveCall() throws Throwable {
-                    return createTest(method);
-                }
-            }.run();
+            test = createTest(method);
+        } catch (InvocationTargetException e) {
+            return new Fail(e.getTargetException());
         } catch (Throwable e) {
             return new Fail(e);
         }
@@ -319,9 +316,10 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
      */
     protected Statement possiblyExpectingExceptions(FrameworkMethod method,
             Object test, Statement next) {
-        Test annotation = method.getAnnotation(Test.class);
-        return expectsException(annotation) ? new ExpectException(next,
-                getExpectedException(annotation)) : next;
+        Class<? extends Throwable> expectedException =
+                getExpectedException(method.getAnnotation(Test.class));
+        return expectedException != null ? new ExpectException(next,
+                expectedException) : next;
     }
 
     /**
@@ -440,15 +438,11 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
     }
 
     private Class<? extends Throwable> getExpectedException(Test annotation) {
-        if (annotation == null || annotation.expected() == None.class) {
+        if (annotation == null) {
             return null;
-        } else {
-            return annotation.expected();
         }
-    }
-
-    private boolean expectsException(Test annotation) {
-        return getExpectedException(annotation) != null;
+        Class<? extends Throwable> expected = annotation.expected();
+        return expected == None.class ? null : expected;
     }
 
     private long getTimeout(Test annotation) {
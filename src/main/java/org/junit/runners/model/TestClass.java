@@ -31,6 +31,7 @@ import org.junit.internal.MethodSorter;
 public class TestClass implements Annotatable {
     private static final FieldComparator FIELD_COMPARATOR = new FieldComparator();
     private static final MethodComparator METHOD_COMPARATOR = new MethodComparator();
+    private static final Object[] NO_ARGUMENTS = new Object[0];
 
     private final Class<?> clazz;
     private final Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations;
@@ -123,7 +124,7 @@ public class TestClass implements Annotatable {
      */
     public List<FrameworkMethod> getAnnotatedMethods(
             Class<? extends Annotation> annotationClass) {
-        return Collections.unmodifiableList(getAnnotatedMembers(methodsForAnnotations, annotationClass, false));
+        return getAnnotatedMembers(methodsForAnnotations, annotationClass, false);
     }
 
     /**
@@ -142,7 +143,7 @@ public class TestClass implements Annotatable {
      */
     public List<FrameworkField> getAnnotatedFields(
             Class<? extends Annotation> annotationClass) {
-        return Collections.unmodifiableList(getAnnotatedMembers(fieldsForAnnotations, annotationClass, false));
+        return getAnnotatedMembers(fieldsForAnnotations, annotationClass, false);
     }
 
     private <T> List<T> collectValues(Map<?, List<T>> map) {
@@ -153,6 +154,11 @@ public class TestClass implements Annotatable {
         return new ArrayList<T>(values);
     }
 
+    /**
+     * Returns the members annotated with {@code type}. Once the class has been
+     * scanned, the lists in {@code map} are already unmodifiable, so they are
+     * returned as they are instead of being wrapped again on every lookup.
+     */
     private static <T> List<T> getAnnotatedMembers(Map<Class<? extends Annotation>, List<T>> map,
             Class<? extends Annotation> type, boolean fillIfAbsent) {
         if (!map.containsKey(type) && fillIfAbsent) {
@@ -253,7 +259,7 @@ public class TestClass implements Annotatable {
                  * to fetch the MethodRule
                  */
                 if (valueClass.isAssignableFrom(each.getReturnType())) {
-                    Object fieldValue = each.invokeExplosively(test);
+                    Object fieldValue = each.invokeExplosively(test, NO_ARGUMENTS);
                     results.add(valueClass.cast(fieldValue));
                 }
             } catch (Throwable e) {
@@ -0,0 +1,150 @@
+package org.junit.rules;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class PerformanceBaselineTest {
+    private static File baselineFile;
+    private static long durationMillis;
+
+    /**
+     * Fake implementation of {@link Stopwatch.Clock} under which each test
+     * takes {@code durationMillis}.
+     */
+    private static final Stopwatch.Clock fakeClock = new Stopwatch.Clock() {
+        private long now;
+
+        @Override
+        public long nanoTime() {
+            long time = now;
+            now += TimeUnit.MILLISECONDS.toNanos(durationMillis);
+            return time;
+        }
+    };
+
+    public static class TimedTest {
+        @ClassRule
+        @Rule
+        public static PerformanceBaseline baseline;
+
+        @Test
+        public void takesDuration() {
+        }
+    }
+
+    public static class UnsavedTest {
+        @Rule
+        public final PerformanceBaseline baseline = PerformanceBaseline.builder(baselineFile)
+                .approving(true)
+                .build();
+
+        @Test
+        public void takesDuration() {
+        }
+    }
+
+    @Before
+    public void createBaselineFile() throws Exception {
+        baselineFile = File.createTempFile("baseline", ".ser");
+        baselineFile.delete();
+        baselineFile.deleteOnExit();
+    }
+
+    @Test
+    public void measurementsWithinBaselinePass() {
+        approve(2, 20);
+
+        assertTrue(check(20).wasSuccessful());
+    }
+
+    @Test
+    public void baselinesAreSavedAfterEachClass() {
+        approve(1, 20);
+        assertTrue(baselineFile.exists());
+
+        baselineFile.delete();
+        approve(1, 20);
+        assertTrue(baselineFile.exists());
+    }
+
+    @Test
+    public void baselinesAreNotSavedWithoutClassRule() {
+        assertTrue(JUnitCore.runClasses(UnsavedTest.class).wasSuccessful());
+
+        assertFalse(baselineFile.exists());
+    }
+
+    @Test
+    public void testsWithoutEnoughMeasurementsAreNotChecked() {
+        approve(1, 1);
+
+        assertTrue(check(100).wasSuccessful());
+        assertTrue(check(100).wasSuccessful());
+    }
+
+    @Test
+    public void singleRegressionDoesNotFail() {
+        approve(2, 20);
+
+        assertTrue(check(200).wasSuccessful());
+        assertTrue(check(20).wasSuccessful());
+        assertTrue(check(200).wasSuccessful());
+    }
+
+    @Test
+    public void consecutiveRegressionsFail() {
+        approve(2, 20);
+
+        assertTrue(check(200).wasSuccessful());
+        Result result = check(200);
+
+        assertEquals(1, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("in 2 consecutive runs"));
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("duration of "));
+    }
+
+    @Test
+    public void approvingNeverFails() {
+        approve(2, 1);
+
+        approve(2, 100);
+    }
+
+    private void approve(int runs, long millis) {
+        for (int i = 0; i < runs; i++) {
+            durationMillis = millis;
+            TimedTest.baseline = baseline(true);
+            assertTrue(JUnitCore.runClasses(TimedTest.class).wasSuccessful());
+        }
+    }
+
+    private Result check(long millis) {
+        durationMillis = millis;
+        TimedTest.baseline = baseline(false);
+        return JUnitCore.runClasses(TimedTest.class);
+    }
+
+    private static PerformanceBaseline baseline(boolean approving) {
+        return PerformanceBaseline.builder(baselineFile)
+                .approving(approving)
+                .withMinimumSamples(2)
+                .withMinimumMargin(1.0)
+                .withClock(fakeClock)
+                .build();
+    }
+}
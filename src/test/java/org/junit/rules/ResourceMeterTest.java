@@ -0,0 +1,126 @@
+package org.junit.rules;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+
+public class ResourceMeterTest {
+    private static final int ALLOCATED_BYTES = 4 * 1024 * 1024;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    public static class AllocatingTest {
+        private final ResourceUsageListener listener = new ResourceUsageListener(null);
+
+        @Rule
+        public final ResourceMeter meter = new ResourceMeter(listener) {
+            @Override
+            protected void finished(ResourceUsage usage, Description description) {
+                assertSame(usage, usage());
+                assertSame(usage, listener.getUsages().get(description));
+                assertTrue(usage.getAllocatedBytes() == -1
+                        || usage.getAllocatedBytes() >= ALLOCATED_BYTES);
+            }
+        };
+
+        @Test
+        public void allocates() {
+            byte[] allocated = new byte[ALLOCATED_BYTES];
+            assertEquals(ALLOCATED_BYTES, allocated.length);
+        }
+    }
+
+    public static class UnmeteredTest {
+        @Test
+        public void first() {
+        }
+
+        @Test
+        public void second() {
+        }
+    }
+
+    @Test
+    public void ruleReportsUsageOfTest() {
+        assertThat(testResult(AllocatingTest.class), isSuccessful());
+    }
+
+    @Test
+    public void firstRecordedUsageTakesPrecedenceInListener() {
+        ResourceUsageListener listener = new ResourceUsageListener(null);
+        Description description = Description.createTestDescription(UnmeteredTest.class, "first");
+        ResourceUsage usage = new ResourceUsage(1, 2, 3, 4);
+
+        listener.testStarted(description);
+        listener.record(description, usage);
+        listener.testFinished(description);
+
+        assertEquals(1, listener.getUsages().size());
+        assertSame(usage, listener.getUsages().get(description));
+    }
+
+    @Test
+    public void listenerWritesOneLinePerTest() throws IOException {
+        File metricsFile = new File(folder.getRoot(), "metrics.tsv");
+        JUnitCore core = new JUnitCore();
+        core.addListener(new ResourceUsageListener(metricsFile));
+        core.run(UnmeteredTest.class);
+
+        List<String> lines = readLines(metricsFile);
+        assertEquals(3, lines.size());
+        assertEquals("# test\tcpuNanos\tallocatedBytes\tgcCount\tgcMillis", lines.get(0));
+        String names = "";
+        for (String line : lines.subList(1, 3)) {
+            String[] columns = line.split("\t");
+            assertThat(columns.length, is(5));
+            names += columns[0] + " ";
+        }
+        assertThat(names, containsString("first(" + UnmeteredTest.class.getName() + ")"));
+        assertThat(names, containsString("second(" + UnmeteredTest.class.getName() + ")"));
+    }
+
+    @Test
+    public void differenceOfUnmeasuredValuesIsUnmeasured() {
+        ResourceUsage start = new ResourceUsage(10, -1, 1, 5);
+        ResourceUsage end = new ResourceUsage(25, 100, 3, 9);
+
+        ResourceUsage used = end.since(start);
+
+        assertEquals(15, used.getCpuNanos());
+        assertEquals(-1, used.getAllocatedBytes());
+        assertEquals(2, used.getGcCount());
+        assertEquals(4, used.getGcMillis());
+    }
+
+    private static List<String> readLines(File file) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+}
@@ -48,6 +48,33 @@ public class FrameworkMethodTest {
         assertThat(annotation, is(nullValue()));
     }
 
+    @Test
+    public void invokeExplosivelyReturnsResultOfMethod() throws Throwable {
+        Method method = ClassWithInvokedMethods.class.getMethod("concatenate", String.class, String.class);
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        assertThat(frameworkMethod.invokeExplosively(new ClassWithInvokedMethods(), "a", "b"),
+                is((Object) "ab"));
+    }
+
+    @Test
+    public void invokeExplosivelyRethrowsExceptionOfMethod() throws Throwable {
+        Method method = ClassWithInvokedMethods.class.getMethod("fail");
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("thrown by method");
+        frameworkMethod.invokeExplosively(new ClassWithInvokedMethods());
+    }
+
+    public static class ClassWithInvokedMethods {
+        public String concatenate(String first, String second) {
+            return first + second;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("thrown by method");
+        }
+    }
+
     private static class ClassWithDummyMethod {
         @SuppressWarnings("unused")
         public void dummyMethod() {
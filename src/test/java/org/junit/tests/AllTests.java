@@ -9,6 +9,8 @@ import org.junit.internal.MethodSorterTest;
 import org.junit.internal.matchers.StacktracePrintingMatcherTest;
 import org.junit.internal.matchers.ThrowableCauseMatcherTest;
 import org.junit.rules.DisableOnDebugTest;
+import org.junit.rules.PerformanceBaselineTest;
+import org.junit.rules.ResourceMeterTest;
 import org.junit.rules.StopwatchTest;
 import org.junit.runner.FilterFactoriesTest;
 import org.junit.runner.FilterOptionIntegrationTest;
@@ -29,6 +31,7 @@ import org.junit.runners.parameterized.ParameterizedNamesTest;
 import org.junit.runners.parameterized.TestWithParametersTest;
 import org.junit.tests.assertion.AssertionTest;
 import org.junit.tests.assertion.ComparisonFailureTest;
+import org.junit.tests.assertion.ContentAssertionTest;
 import org.junit.tests.assertion.MultipleFailureExceptionTest;
 import org.junit.tests.deprecated.JUnit4ClassRunnerTest;
 import org.junit.tests.description.AnnotatedDescriptionTest;
@@ -36,6 +39,10 @@ import org.junit.tests.description.SuiteDescriptionTest;
 import org.junit.tests.description.TestDescriptionMethodNameTest;
 import org.junit.tests.description.TestDescriptionTest;
 import org.junit.tests.experimental.AssumptionTest;
+import org.junit.tests.experimental.benchmark.BenchmarkRunnerTest;
+import org.junit.tests.experimental.fork.ForkedRequestTest;
+import org.junit.tests.experimental.impact.TestImpactIndexTest;
+import org.junit.tests.experimental.impact.TestResultCacheTest;
 import org.junit.tests.experimental.ExperimentalTests;
 import org.junit.tests.experimental.MatcherTest;
 import org.junit.tests.experimental.categories.CategoriesAndParameterizedTest;
@@ -46,6 +53,8 @@ import org.junit.tests.experimental.categories.MultiCategoryTest;
 import org.junit.tests.experimental.max.DescriptionTest;
 import org.junit.tests.experimental.max.JUnit38SortingTest;
 import org.junit.tests.experimental.max.MaxStarterTest;
+import org.junit.tests.experimental.parallel.ChromeTraceListenerTest;
+import org.junit.tests.experimental.parallel.IsolatedParallelComputerTest;
 import org.junit.tests.experimental.parallel.ParallelClassTest;
 import org.junit.tests.experimental.parallel.ParallelMethodTest;
 import org.junit.tests.experimental.rules.BlockJUnit4ClassRunnerOverrideTest;
@@ -78,6 +87,7 @@ import org.junit.tests.internal.runners.ErrorReportingRunnerTest;
 import org.junit.tests.internal.runners.statements.FailOnTimeoutTest;
 import org.junit.tests.junit3compatibility.AllTestsTest;
 import org.junit.tests.junit3compatibility.ClassRequestTest;
+import org.junit.tests.junit3compatibility.ConcurrentJUnit4TestAdapterCacheTest;
 import org.junit.tests.junit3compatibility.ForwardCompatibilityPrintingTest;
 import org.junit.tests.junit3compatibility.ForwardCompatibilityTest;
 import org.junit.tests.junit3compatibility.InitializationErrorForwardCompatibilityTest;
@@ -86,6 +96,7 @@ import org.junit.tests.junit3compatibility.OldTestClassAdaptingListenerTest;
 import org.junit.tests.junit3compatibility.OldTests;
 import org.junit.tests.junit3compatibility.SuiteMethodTest;
 import org.junit.tests.listening.ListenerTest;
+import org.junit.tests.listening.MetricsListenerTest;
 import org.junit.tests.listening.RunnerTest;
 import org.junit.tests.listening.TestListenerTest;
 import org.junit.tests.listening.TextListenerTest;
@@ -94,6 +105,7 @@ import org.junit.tests.manipulation.FilterTest;
 import org.junit.tests.manipulation.FilterableTest;
 import org.junit.tests.manipulation.SingleMethodTest;
 import org.junit.tests.manipulation.SortableTest;
+import org.junit.tests.manipulation.TestListFilterFactoryTest;
 import org.junit.tests.running.classes.BlockJUnit4ClassRunnerTest;
 import org.junit.tests.running.classes.ClassLevelMethodsWithIgnoredTestsTest;
 import org.junit.tests.running.classes.EnclosedTest;
@@ -106,6 +118,8 @@ import org.junit.tests.running.classes.SuiteTest;
 import org.junit.tests.running.classes.UseSuiteAsASuperclassTest;
 import org.junit.tests.running.core.CommandLineTest;
 import org.junit.tests.running.core.JUnitCoreReturnsCorrectExitCodeTest;
+import org.junit.tests.running.core.JUnitDaemonTest;
+import org.junit.tests.running.core.RetryFailuresTest;
 import org.junit.tests.running.core.SystemExitTest;
 import org.junit.tests.running.methods.AnnotationTest;
 import org.junit.tests.running.methods.ExpectedTest;
@@ -137,8 +151,10 @@ import org.junit.validator.PublicClassValidatorTest;
         CommandLineTest.class,
         ExpectedTest.class,
         ComparisonFailureTest.class,
+        ContentAssertionTest.class,
         MultipleFailureExceptionTest.class,
         ForwardCompatibilityTest.class,
+        ConcurrentJUnit4TestAdapterCacheTest.class,
         OldTests.class,
         ParameterizedTestTest.class,
         RunWithTest.class,
@@ -159,6 +175,8 @@ import org.junit.validator.PublicClassValidatorTest;
         JUnit38ClassRunnerTest.class,
         SystemExitTest.class,
         JUnitCoreReturnsCorrectExitCodeTest.class,
+        JUnitDaemonTest.class,
+        RetryFailuresTest.class,
         SuiteMethodTest.class,
         BadlyFormedClassesTest.class,
         IgnoreClassTest.class,
@@ -181,13 +199,20 @@ import org.junit.validator.PublicClassValidatorTest;
         UseSuiteAsASuperclassTest.class,
         FilterableTest.class,
         FilterTest.class,
+        TestListFilterFactoryTest.class,
         MaxStarterTest.class,
         JUnit38SortingTest.class,
         MethodRulesTest.class,
         TestRuleTest.class,
         TimeoutRuleTest.class,
         ParallelClassTest.class,
+        IsolatedParallelComputerTest.class,
         ParallelMethodTest.class,
+        ChromeTraceListenerTest.class,
+        BenchmarkRunnerTest.class,
+        TestImpactIndexTest.class,
+        TestResultCacheTest.class,
+        ForkedRequestTest.class,
         ParentRunnerTest.class,
         NameRulesTest.class,
         ClassRulesTest.class,
@@ -210,9 +235,12 @@ import org.junit.validator.PublicClassValidatorTest;
         TestedOnSupplierTest.class,
         StacktracePrintingMatcherTest.class,
         StopwatchTest.class,
+        ResourceMeterTest.class,
+        PerformanceBaselineTest.class,
         RunNotifierTest.class,
         ConcurrentRunNotifierTest.class,
         SynchronizedRunListenerTest.class,
+        MetricsListenerTest.class,
         FilterOptionIntegrationTest.class,
         JUnitCommandLineParseResultTest.class,
         FilterFactoriesTest.class,
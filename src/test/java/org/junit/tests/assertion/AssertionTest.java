@@ -14,14 +14,21 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.expectThrows;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Assert.ThrowingRunnable;
 import org.junit.ComparisonFailure;
 import org.junit.Test;
 import org.junit.internal.ArrayComparisonFailure;
+import org.junit.internal.ComparisonMessages;
 
 /**
  * Tests for {@link org.junit.Assert}
@@ -648,6 +655,147 @@ public class AssertionTest {
         fail("Failed on assertion.");
     }
 
+    @Test
+    public void notEqualsMessageConvertsValuesOnce() {
+        CountingToString expected = new CountingToString("expected");
+        CountingToString actual = new CountingToString("actual");
+
+        try {
+            assertEquals(expected, actual);
+        } catch (AssertionError e) {
+            assertEquals("expected:<expected> but was:<actual>", e.getMessage());
+            assertEquals("expected:<expected> but was:<actual>", e.getMessage());
+            assertEquals(2, expected.count + actual.count);
+            return;
+        }
+
+        fail("Failed on assertion.");
+    }
+
+    @Test
+    public void notEqualsMessageShowsValuesAtTimeOfFailure() {
+        StringBuilder expected = new StringBuilder("expected");
+        StringBuilder actual = new StringBuilder("actual");
+
+        try {
+            assertEquals(expected, actual);
+        } catch (AssertionError e) {
+            actual.append(" changed later");
+            assertEquals("expected:<expected> but was:<actual>", e.getMessage());
+            return;
+        }
+
+        fail("Failed on assertion.");
+    }
+
+    @Test
+    public void notEqualsFailureIsSerializedWithItsMessage() throws Exception {
+        try {
+            assertEquals(new Object() {
+                @Override
+                public String toString() {
+                    return "not serializable";
+                }
+            }, 1);
+        } catch (AssertionError e) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            new ObjectOutputStream(bytes).writeObject(e);
+            Object fromStream = new ObjectInputStream(
+                    new ByteArrayInputStream(bytes.toByteArray())).readObject();
+            assertEquals(AssertionError.class, fromStream.getClass());
+            assertEquals("expected:<not serializable> but was:<1>",
+                    ((AssertionError) fromStream).getMessage());
+            return;
+        }
+
+        fail("Failed on assertion.");
+    }
+
+    @Test
+    public void largeValuesAreAbbreviatedAroundTheFirstDifference() {
+        assertEquals("expected:<...789abc...> but was:<...789Xbc...>",
+                ComparisonMessages.format(null, new StringBuilder("0123456789abcdefghij"),
+                        new StringBuilder("0123456789Xbcdefghij"), 6));
+    }
+
+    @Test
+    public void largeStringDifferencesAreAbbreviated() {
+        int maxLength = ComparisonMessages.maxValueLength();
+        String lower = repeat('a', maxLength + 4);
+        String upper = repeat('A', maxLength + 4);
+        try {
+            assertEquals("PRE:" + lower + ":POST", "PRE:" + upper + ":POST");
+        } catch (ComparisonFailure e) {
+            assertEquals("expected:<PRE:[" + lower.substring(0, maxLength) + "...]:POST>"
+                    + " but was:<PRE:[" + upper.substring(0, maxLength) + "...]:POST>",
+                    e.getMessage());
+            return;
+        }
+
+        fail("Failed on assertion.");
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void defaultLimitKeepsMessagesOfHugeValuesSmall() {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            expected.append('x');
+        }
+        String actual = expected.toString() + "y";
+
+        try {
+            assertEquals(expected.toString(), actual);
+        } catch (ComparisonFailure e) {
+            assertTrue(e.getMessage().length() < 2 * (ComparisonMessages.maxValueLength() + 50));
+            return;
+        }
+
+        fail("Failed on assertion.");
+    }
+
+    @Test
+    public void hugeMutableValuesAreOnlyRenderedUpToTheLimit() {
+        CountingToString element = new CountingToString("element");
+        List<Object> expected = new ArrayList<Object>();
+        for (int i = 0; i < 100000; i++) {
+            expected.add(element);
+        }
+
+        try {
+            assertEquals(expected, new ArrayList<Object>());
+        } catch (AssertionError e) {
+            assertTrue(element.count < 100000 / 2);
+            assertTrue(e.getMessage().length() < 2 * (ComparisonMessages.maxValueLength() + 50));
+            assertTrue(e.getMessage().endsWith("...> but was:<[]>"));
+            return;
+        }
+
+        fail("Failed on assertion.");
+    }
+
+    private static class CountingToString {
+        private final String value;
+        int count;
+
+        CountingToString(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            count++;
+            return value;
+        }
+    }
+
     @Test
     public void assertNotEqualsWorksWithPrimitiveTypes() {
         assertNotEquals(1L, 2L);
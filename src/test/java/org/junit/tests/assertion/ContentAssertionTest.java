@@ -0,0 +1,172 @@
+package org.junit.tests.assertion;
+
+import static org.junit.Assert.assertContentEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.internal.ContentComparison;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the <code>assertContentEquals</code> methods of {@link org.junit.Assert}
+ */
+public class ContentAssertionTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void equalBuffersPass() {
+        assertContentEquals(ByteBuffer.wrap(bytes(100)), ByteBuffer.wrap(bytes(100)));
+    }
+
+    @Test
+    public void nullBuffersAreEqual() {
+        assertContentEquals((ByteBuffer) null, (ByteBuffer) null);
+    }
+
+    @Test
+    public void expectedNullBufferMessage() {
+        try {
+            assertContentEquals("not equal", null, ByteBuffer.wrap(bytes(1)));
+        } catch (AssertionError exception) {
+            assertEquals("not equal: expected buffer was null", exception.getMessage());
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void differingBuffersReportOffsetAndHexContext() {
+        byte[] expected = bytes(32);
+        byte[] actual = bytes(32);
+        actual[20] = (byte) 0xff;
+        try {
+            assertContentEquals("content", ByteBuffer.wrap(expected), ByteBuffer.wrap(actual));
+        } catch (AssertionError exception) {
+            assertEquals("content: contents first differed at byte 20; "
+                    + "expected:<...0c 0d 0e 0f 10 11 12 13 [14 15 16 17 18 19 1a 1b]...> "
+                    + "but was:<...0c 0d 0e 0f 10 11 12 13 [ff 15 16 17 18 19 1a 1b]...>",
+                    exception.getMessage());
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void bufferPositionsAreRespectedAndPreserved() {
+        ByteBuffer expected = ByteBuffer.wrap(bytes(10));
+        ByteBuffer actual = ByteBuffer.wrap(new byte[] {42, 42, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+        actual.position(2);
+
+        assertContentEquals(expected, actual);
+
+        assertEquals(0, expected.position());
+        assertEquals(2, actual.position());
+    }
+
+    @Test
+    public void shorterActualBufferMessage() {
+        try {
+            assertContentEquals(ByteBuffer.wrap(bytes(4)), ByteBuffer.wrap(bytes(2)));
+        } catch (AssertionError exception) {
+            assertEquals("contents first differed at byte 2; "
+                    + "expected:<00 01 [02 03]> but was:<00 01 []>",
+                    exception.getMessage());
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void differenceIsFoundAcrossWindows() {
+        byte[] actual = bytes(100);
+        actual[97] = 0;
+        try {
+            new ContentComparison(16).assertContentEquals(null,
+                    ByteBuffer.wrap(bytes(100)), ByteBuffer.wrap(actual));
+        } catch (AssertionError exception) {
+            assertEquals("contents first differed at byte 97; "
+                    + "expected:<...59 5a 5b 5c 5d 5e 5f 60 [61 62 63]> "
+                    + "but was:<...59 5a 5b 5c 5d 5e 5f 60 [00 62 63]>",
+                    exception.getMessage());
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void equalFilesPass() throws IOException {
+        assertContentEquals(file(bytes(1000)), file(bytes(1000)));
+    }
+
+    @Test
+    public void emptyFilesAreEqual() throws IOException {
+        assertContentEquals(file(new byte[0]), file(new byte[0]));
+    }
+
+    @Test
+    public void differingFilesReportOffset() throws IOException {
+        byte[] actual = bytes(1000);
+        actual[3] = 7;
+        try {
+            assertContentEquals("files", file(bytes(1000)), file(actual));
+        } catch (AssertionError exception) {
+            assertEquals("files: contents first differed at byte 3; "
+                    + "expected:<00 01 02 [03 04 05 06 07 08 09 0a]...> "
+                    + "but was:<00 01 02 [07 04 05 06 07 08 09 0a]...>",
+                    exception.getMessage());
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void differenceIsFoundAcrossFileWindows() throws IOException {
+        byte[] actual = bytes(100);
+        actual[97] = 0;
+        FileInputStream expectedIn = new FileInputStream(file(bytes(100)));
+        FileInputStream actualIn = new FileInputStream(file(actual));
+        try {
+            new ContentComparison(4).assertContentEquals(null,
+                    expectedIn.getChannel(), actualIn.getChannel());
+        } catch (AssertionError exception) {
+            assertEquals("contents first differed at byte 97; "
+                    + "expected:<...59 5a 5b 5c 5d 5e 5f 60 [61 62 63]> "
+                    + "but was:<...59 5a 5b 5c 5d 5e 5f 60 [00 62 63]>",
+                    exception.getMessage());
+            assertEquals(0, expectedIn.getChannel().position());
+            return;
+        } finally {
+            expectedIn.close();
+            actualIn.close();
+        }
+        fail();
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private File file(byte[] content) throws IOException {
+        File file = folder.newFile();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content);
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+}
@@ -1,7 +1,9 @@
 package org.junit.tests.description;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 import org.junit.runner.Description;
@@ -21,4 +23,19 @@ public class TestDescriptionTest {
     public void equalsIsFalseForSameNameAndDifferentUniqueId() {
         assertFalse(Description.createSuiteDescription("Hello", 2).equals(Description.createSuiteDescription("Hello", 3)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void unmodifiableCopyKeepsChildrenButRejectsNewOnes() {
+        Description suite = Description.createSuiteDescription("Hello", 1);
+        suite.addChild(Description.createTestDescription(getClass(), "a"));
+        Description copy = suite.unmodifiableCopy();
+
+        assertEquals(suite, copy);
+        assertEquals(suite.getChildren(), copy.getChildren());
+        try {
+            copy.getChildren().get(0).addChild(Description.createSuiteDescription("b"));
+            fail("Child of unmodifiable copy could be modified");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.junit.tests.experimental.benchmark;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.hasSingleFailureContaining;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.benchmark.Benchmark;
+import org.junit.experimental.benchmark.BenchmarkListener;
+import org.junit.experimental.benchmark.BenchmarkResult;
+import org.junit.experimental.benchmark.BenchmarkRunner;
+import org.junit.experimental.benchmark.Blackhole;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class BenchmarkRunnerTest {
+    private static final List<String> log = new ArrayList<String>();
+    private static final List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+
+    @RunWith(BenchmarkRunner.class)
+    public static class CountingBenchmarks {
+        static int invocations;
+
+        @Before
+        public void before() {
+            log.add("before");
+        }
+
+        @Test
+        public void regularTest() {
+            log.add("test");
+        }
+
+        @Benchmark(warmupIterations = 2, iterations = 3, operations = 5)
+        public void counted(Blackhole blackhole) {
+            blackhole.consume(++invocations);
+        }
+    }
+
+    @Before
+    public void clear() {
+        log.clear();
+        results.clear();
+        CountingBenchmarks.invocations = 0;
+    }
+
+    @Test
+    public void runsWarmupAndMeasuredIterations() throws Exception {
+        assertTrue(runWithListener(CountingBenchmarks.class).wasSuccessful());
+
+        assertEquals(25, CountingBenchmarks.invocations);
+        assertEquals(1, results.size());
+        assertEquals(3, results.get(0).getSampleCount());
+    }
+
+    @Test
+    public void runsBenchmarksAndTestsWithFixtures() {
+        testResult(CountingBenchmarks.class);
+
+        assertEquals(3, log.size());
+        assertEquals(2, countOf("before"));
+        assertEquals(1, countOf("test"));
+    }
+
+    @RunWith(BenchmarkRunner.class)
+    public static class SlowBenchmark {
+        @Benchmark(warmupIterations = 0, iterations = 1, operations = 1, maxMeanNanos = 1000)
+        public void slow() throws InterruptedException {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void failsWhenMeanExceedsLimit() {
+        assertThat(testResult(SlowBenchmark.class),
+                hasSingleFailureContaining("Benchmark slow exceeded its limit of 1000 ns/op"));
+    }
+
+    @RunWith(BenchmarkRunner.class)
+    public static class InvalidParameter {
+        @Benchmark
+        public void withString(String value) {
+        }
+    }
+
+    @Test
+    public void rejectsParametersOtherThanBlackhole() {
+        assertThat(testResult(InvalidParameter.class), hasSingleFailureContaining(
+                "Method withString should have no parameters or a single Blackhole parameter"));
+    }
+
+    @RunWith(BenchmarkRunner.class)
+    public static class ForkedBenchmark {
+        @Benchmark(warmupIterations = 1, iterations = 2, operations = 10, forks = 2)
+        public void forked(Blackhole blackhole) {
+            blackhole.consume(System.getProperty("org.junit.benchmark.forked"));
+        }
+    }
+
+    @Test
+    public void collectsSamplesOfAllForks() throws Exception {
+        assertTrue(runWithListener(ForkedBenchmark.class).wasSuccessful());
+
+        assertEquals(1, results.size());
+        assertEquals(4, results.get(0).getSampleCount());
+    }
+
+    @RunWith(BenchmarkRunner.class)
+    public static class NegativeForks {
+        @Benchmark(forks = -1)
+        public void negative() {
+        }
+    }
+
+    @Test
+    public void namesTheInvalidSetting() {
+        assertThat(testResult(NegativeForks.class), hasSingleFailureContaining(
+                "Benchmark negative should have a non-negative number of forks"));
+    }
+
+    @Test
+    public void reportsResultsToBenchmarkListeners() throws Exception {
+        final List<Description> reported = new ArrayList<Description>();
+        BenchmarkRunner runner = new BenchmarkRunner(CountingBenchmarks.class);
+        runner.addListener(new BenchmarkListener() {
+            @Override
+            public void benchmarkFinished(Description description, BenchmarkResult result) {
+                reported.add(description);
+            }
+        });
+
+        new JUnitCore().run(runner);
+
+        assertEquals(Arrays.asList(
+                Description.createTestDescription(CountingBenchmarks.class, "counted")), reported);
+    }
+
+    @Test
+    public void failsBenchmarkWhenListenerThrows() throws Exception {
+        BenchmarkRunner runner = new BenchmarkRunner(CountingBenchmarks.class);
+        runner.addListener(new BenchmarkListener() {
+            @Override
+            public void benchmarkFinished(Description description, BenchmarkResult result) {
+                throw new IllegalStateException("listener failed");
+            }
+        });
+
+        Result result = new JUnitCore().run(runner);
+
+        assertEquals(1, result.getFailureCount());
+        assertEquals("counted", result.getFailures().get(0).getDescription().getMethodName());
+    }
+
+    @Test
+    public void resultComputesStatistics() {
+        BenchmarkResult result = new BenchmarkResult(new double[] {4, 1, 3, 2});
+
+        assertEquals(2.5, result.getMean(), 0.0);
+        assertEquals(Math.sqrt(5.0 / 3), result.getStandardDeviation(), 1e-9);
+        assertEquals(2, result.getPercentile(50), 0.0);
+        assertEquals(4, result.getPercentile(99), 0.0);
+        assertTrue(result.getError() > 0);
+        assertThat(result.toString(), containsString("2.500 +- "));
+    }
+
+    private static Result runWithListener(Class<?> benchmarkClass) throws Exception {
+        BenchmarkRunner runner = new BenchmarkRunner(benchmarkClass);
+        runner.addListener(new BenchmarkListener() {
+            @Override
+            public void benchmarkFinished(Description description, BenchmarkResult result) {
+                results.add(result);
+            }
+        });
+        return new JUnitCore().run(runner);
+    }
+
+    private static int countOf(String entry) {
+        int count = 0;
+        for (String each : log) {
+            if (each.equals(entry)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
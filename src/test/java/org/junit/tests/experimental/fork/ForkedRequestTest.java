@@ -0,0 +1,121 @@
+package org.junit.tests.experimental.fork;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.fork.ForkedRequest;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+
+public class ForkedRequestTest {
+    private static final String FORKED_PROPERTY = "org.junit.tests.experimental.fork.forked";
+
+    private static final String CRASH_PROPERTY = "org.junit.tests.experimental.fork.crash";
+
+    public static class Passes {
+        @Test
+        public void passes() {
+        }
+
+        @Ignore
+        @Test
+        public void ignored() {
+        }
+    }
+
+    public static class Fails {
+        @Test
+        public void fails() {
+            throw new AssertionError("expected failure");
+        }
+    }
+
+    public static class RequiresForkedJvm {
+        @Test
+        public void runsInForkedJvm() {
+            assertTrue(Boolean.getBoolean(FORKED_PROPERTY));
+        }
+    }
+
+    public static class PrintsToStandardOutput {
+        @Test
+        public void prints() throws IOException {
+            if (Boolean.getBoolean(FORKED_PROPERTY)) {
+                new FileOutputStream(FileDescriptor.out).write("stray output\n".getBytes());
+            }
+        }
+    }
+
+    public static class Crashes {
+        @Test
+        public void crashes() {
+            if (Boolean.getBoolean(CRASH_PROPERTY)) {
+                System.exit(3);
+            }
+        }
+    }
+
+    @Test
+    public void forwardsEventsOfForkedRuns() {
+        final Set<String> finished = new HashSet<String>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) {
+                finished.add(description.getDisplayName());
+            }
+        });
+
+        Result result = core.run(ForkedRequest.classes(2, Passes.class, Fails.class));
+
+        assertEquals(2, result.getRunCount());
+        assertEquals(1, result.getIgnoreCount());
+        assertEquals(1, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(), containsString("expected failure"));
+        assertTrue(finished.contains("passes(" + Passes.class.getName() + ")"));
+    }
+
+    @Test
+    public void runsTestsInOtherJvms() {
+        Result result = new JUnitCore().run(ForkedRequest.classes(1,
+                Arrays.asList("-D" + FORKED_PROPERTY + "=true"), RequiresForkedJvm.class));
+
+        assertEquals(1, result.getRunCount());
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void reportsCrashAndReplacesWorker() {
+        Result result = new JUnitCore().run(ForkedRequest.classes(1,
+                Arrays.asList("-D" + CRASH_PROPERTY + "=true"),
+                Crashes.class, Passes.class));
+
+        assertEquals(1, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("terminated unexpectedly while running " + Crashes.class.getName()));
+        assertEquals(2, result.getRunCount());
+    }
+
+    @Test
+    public void standardOutputOfWorkersDoesNotInterfere() {
+        Result result = new JUnitCore().run(ForkedRequest.classes(1,
+                Arrays.asList("-D" + FORKED_PROPERTY + "=true"),
+                PrintsToStandardOutput.class, RequiresForkedJvm.class));
+
+        assertEquals(2, result.getRunCount());
+        assertTrue(result.wasSuccessful());
+    }
+}
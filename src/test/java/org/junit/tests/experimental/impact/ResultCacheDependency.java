@@ -0,0 +1,10 @@
+package org.junit.tests.experimental.impact;
+
+/**
+ * A class used by a test of {@link TestResultCacheTest}. It is not nested in
+ * the test, so that it is only loaded when the test runs.
+ */
+class ResultCacheDependency {
+    static void use() {
+    }
+}
@@ -0,0 +1,112 @@
+package org.junit.tests.experimental.impact;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.impact.TestImpactFilterFactory;
+import org.junit.experimental.impact.TestImpactIndex;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+
+public class TestImpactIndexTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File indexFile;
+
+    public static class Helper {
+        public int answer() {
+            return 42;
+        }
+    }
+
+    public static class UsesHelper {
+        @Test
+        public void usesHelper() {
+            assertEquals(42, new Helper().answer());
+        }
+    }
+
+    public static class Independent {
+        @Test
+        public void independent() {
+        }
+    }
+
+    @Before
+    public void recordIndex() throws IOException {
+        indexFile = new File(folder.getRoot(), "impact-index.txt");
+        TestImpactIndex index = TestImpactIndex.forFile(indexFile);
+        JUnitCore core = new JUnitCore();
+        core.addListener(index.listener());
+        Result result = core.run(Request.classes(index.recordingComputer(),
+                UsesHelper.class, Independent.class));
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void recordsLoadedClassesPerTestClass() throws IOException {
+        TestImpactIndex index = TestImpactIndex.forFile(indexFile);
+
+        assertThat(index.getDependencies(UsesHelper.class.getName()),
+                hasItem(Helper.class.getName()));
+        assertThat(index.getDependencies(Independent.class.getName()),
+                not(hasItem(Helper.class.getName())));
+        assertNull(index.getDependencies(TestImpactIndexTest.class.getName()));
+    }
+
+    @Test
+    public void selectsTestClassesAffectedByChangedClass() throws IOException {
+        TestImpactIndex index = TestImpactIndex.forFile(indexFile);
+
+        assertEquals(Collections.singleton(UsesHelper.class.getName()),
+                index.getAffectedTestClasses(asList(Helper.class.getName())));
+        assertThat(index.getAffectedTestClasses(asList(Independent.class.getName())),
+                hasItem(Independent.class.getName()));
+    }
+
+    @Test
+    public void filterFactoryReadsChangedClassesFromFile() throws Exception {
+        File changes = new File(folder.getRoot(), "changes.txt");
+        Writer writer = new FileWriter(changes);
+        writer.write(Helper.class.getName() + "\n");
+        writer.close();
+        Filter filter = new TestImpactFilterFactory().createFilter(new FilterFactoryParams(
+                Description.EMPTY, indexFile.getPath() + ",@" + changes.getPath()));
+
+        Result result = new JUnitCore().run(Request.classes(
+                UsesHelper.class, Independent.class).filterWith(filter));
+
+        assertEquals(1, result.getRunCount());
+    }
+
+    @Test
+    public void testClassesThatWereNotRecordedAlwaysRun() throws Exception {
+        Filter filter = TestImpactIndex.forFile(indexFile).affectedBy(
+                Collections.<String>emptyList());
+
+        assertTrue(filter.shouldRun(Description.createTestDescription(
+                TestImpactIndexTest.class, "newTest")));
+        assertTrue(!filter.shouldRun(Description.createTestDescription(
+                Independent.class, "independent")));
+    }
+}
@@ -0,0 +1,189 @@
+package org.junit.tests.experimental.impact;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.impact.TestResultCache;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+
+public class TestResultCacheTest {
+    /*
+     * The test classes are loaded by a class loader per run, so they count
+     * their executions in a system property rather than in a static field.
+     */
+    private static final String EXECUTIONS_PROPERTY =
+            "org.junit.tests.experimental.impact.executions";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File cacheFolder;
+
+    public static class Pure {
+        @Test
+        public void one() {
+            countExecution();
+        }
+
+        @Test
+        public void two() {
+            countExecution();
+        }
+    }
+
+    public static class Failing {
+        @Test
+        public void fails() {
+            countExecution();
+            throw new AssertionError("expected failure");
+        }
+    }
+
+    public static class UsesDependency {
+        @Test
+        public void usesDependency() {
+            countExecution();
+            ResultCacheDependency.use();
+        }
+    }
+
+    static void countExecution() {
+        System.setProperty(EXECUTIONS_PROPERTY,
+                String.valueOf(Integer.getInteger(EXECUTIONS_PROPERTY, 0) + 1));
+    }
+
+    @Before
+    public void resetExecutions() {
+        cacheFolder = new File(folder.getRoot(), "cache");
+        System.clearProperty(EXECUTIONS_PROPERTY);
+    }
+
+    @After
+    public void clearExecutions() {
+        System.clearProperty(EXECUTIONS_PROPERTY);
+    }
+
+    @Test
+    public void passedTestsAreReportedWithoutRunningThemAgain() {
+        run(Pure.class);
+        Result result = run(Pure.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(2, result.getRunCount());
+        assertEquals(2, executions());
+    }
+
+    @Test
+    public void failedTestsRunAgain() {
+        run(Failing.class);
+        Result result = run(Failing.class);
+
+        assertEquals(1, result.getFailureCount());
+        assertEquals(2, executions());
+    }
+
+    @Test
+    public void changedBytecodeInvalidatesCachedResults() throws IOException {
+        run(Pure.class);
+        Description one = Description.createTestDescription(Pure.class, "one");
+        assertTrue(TestResultCache.inFolder(cacheFolder).isCached(one));
+
+        File entry = new File(cacheFolder, Pure.class.getName() + ".cache");
+        Writer writer = new FileWriter(entry);
+        writer.write("0000\n\none(" + Pure.class.getName() + ")\n");
+        writer.close();
+
+        assertFalse(TestResultCache.inFolder(cacheFolder).isCached(one));
+    }
+
+    @Test
+    public void filterSkipsCachedTests() {
+        run(Pure.class);
+
+        Result result = new JUnitCore().run(Request.classes(Pure.class, Failing.class)
+                .filterWith(TestResultCache.inFolder(cacheFolder).skipCachedTests()));
+
+        assertEquals(1, result.getRunCount());
+        assertEquals(3, executions());
+    }
+
+    @Test
+    public void requestWithOnlyCachedTestsRunsNothing() {
+        run(Pure.class);
+
+        Result result = new JUnitCore().run(TestResultCache.inFolder(cacheFolder)
+                .skipCachedTests(Request.aClass(Pure.class)));
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(0, result.getRunCount());
+        assertEquals(2, executions());
+    }
+
+    @Test
+    public void cachedRunsKeepTheDependenciesOfCachedTests() throws Exception {
+        run(UsesDependency.class);
+        run(UsesDependency.class);
+        run(UsesDependency.class);
+        assertEquals(1, executions());
+
+        Description test = Description.createTestDescription(
+                UsesDependency.class, "usesDependency");
+        // change the bytecode of the dependency; the cache only hashes it
+        File classFile = new File(
+                getClass().getResource("ResultCacheDependency.class").toURI());
+        byte[] bytecode = readBytes(classFile);
+        long lastModified = classFile.lastModified();
+        try {
+            FileOutputStream out = new FileOutputStream(classFile, true);
+            out.write(0);
+            out.close();
+            classFile.setLastModified(lastModified + 2000);
+
+            assertFalse(TestResultCache.inFolder(cacheFolder).isCached(test));
+        } finally {
+            FileOutputStream out = new FileOutputStream(classFile);
+            out.write(bytecode);
+            out.close();
+            classFile.setLastModified(lastModified);
+        }
+    }
+
+    private static byte[] readBytes(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        DataInputStream in = new DataInputStream(new FileInputStream(file));
+        try {
+            in.readFully(bytes);
+        } finally {
+            in.close();
+        }
+        return bytes;
+    }
+
+    private Result run(Class<?> testClass) {
+        TestResultCache cache = TestResultCache.inFolder(cacheFolder);
+        JUnitCore core = new JUnitCore();
+        core.addListener(cache.listener());
+        return core.run(cache.cachedRequest(Request.classes(cache.recordingComputer(), testClass)));
+    }
+
+    private int executions() {
+        return Integer.getInteger(EXECUTIONS_PROPERTY, 0);
+    }
+}
@@ -9,12 +9,16 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import junit.framework.TestCase;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
 import org.junit.experimental.max.MaxCore;
 import org.junit.internal.runners.JUnit38ClassRunner;
 import org.junit.runner.Computer;
@@ -22,10 +26,13 @@ import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
+import org.junit.runner.RunWith;
 import org.junit.runner.Runner;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
 import org.junit.tests.AllTests;
 
 public class MaxStarterTest {
@@ -122,6 +129,112 @@ public class MaxStarterTest {
         assertEquals(dontSucceed, tests.get(1));
     }
 
+    public static class OnePassingTest {
+        @Test
+        public void succeed() {
+        }
+    }
+
+    @Test
+    public void sortByClassPutsClassWithRecentFailureFirst() {
+        fMax.run(Computer.serial(), OnePassingTest.class, TwoTests.class);
+        Request request = fMax.sortRequestByClass(Request.classes(Computer.serial(),
+                OnePassingTest.class, TwoTests.class));
+        List<Description> classes = request.getRunner().getDescription().getChildren();
+        assertEquals(TwoTests.class.getName(), classes.get(0).getClassName());
+        assertEquals(Description.createTestDescription(TwoTests.class, "dontSucceed"),
+                classes.get(0).getChildren().get(0));
+        assertEquals(OnePassingTest.class.getName(), classes.get(1).getClassName());
+    }
+
+    @RunWith(Parameterized.class)
+    public static class PassingParameterizedTest {
+        @Parameters
+        public static List<Object[]> parameters() {
+            return Arrays.asList(new Object[][] {{1}});
+        }
+
+        public PassingParameterizedTest(int parameter) {
+        }
+
+        @Test
+        public void succeed() {
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class FailingParameterizedTest {
+        @Parameters
+        public static List<Object[]> parameters() {
+            return Arrays.asList(new Object[][] {{1}});
+        }
+
+        public FailingParameterizedTest(int parameter) {
+        }
+
+        @Test
+        public void fail() {
+            Assert.fail();
+        }
+    }
+
+    @Test
+    public void sortByClassTellsEqualSubsuitesOfDifferentClassesApart() {
+        fMax.run(Computer.serial(), PassingParameterizedTest.class,
+                FailingParameterizedTest.class);
+        Request request = fMax.sortRequestByClass(Request.classes(Computer.serial(),
+                PassingParameterizedTest.class, FailingParameterizedTest.class));
+        List<Description> classes = request.getRunner().getDescription().getChildren();
+        assertEquals(FailingParameterizedTest.class.getName(), classes.get(0).getClassName());
+    }
+
+    @Test
+    public void sortByClassWorksWithParallelComputer() {
+        Result result = fMax.run(ParallelComputer.classes(),
+                OnePassingTest.class, TwoTests.class);
+        assertEquals(3, result.getRunCount());
+        assertEquals(1, result.getFailureCount());
+    }
+
+    public static class CountsClassFixtures {
+        static int beforeClassCount = 0;
+
+        @BeforeClass
+        public static void countBeforeClass() {
+            beforeClassCount++;
+        }
+
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+        }
+
+        @Test
+        public void three() {
+        }
+    }
+
+    @Test
+    public void consecutiveTestsOfAClassShareClassFixtures() {
+        CountsClassFixtures.beforeClassCount = 0;
+        Result result = fMax.run(CountsClassFixtures.class);
+        assertEquals(3, result.getRunCount());
+        assertEquals(1, CountsClassFixtures.beforeClassCount);
+    }
+
+    @Test
+    public void classRunnersKeepSortedOrder() {
+        fMax.run(TwoTests.class);
+        Request sorted = fMax.sortRequest(Request.aClass(TwoTests.class));
+        Description classDescription = sorted.getRunner().getDescription().getChildren().get(0);
+        assertEquals(Description.createTestDescription(TwoTests.class, "dontSucceed"),
+                classDescription.getChildren().get(0));
+        assertEquals(2, classDescription.getChildren().size());
+    }
+
     public static class TwoUnEqualTests {
         @Test
         public void slow() throws InterruptedException {
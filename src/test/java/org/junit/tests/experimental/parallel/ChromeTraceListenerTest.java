@@ -0,0 +1,76 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.ChromeTraceListener;
+import org.junit.experimental.ParallelComputer;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+
+public class ChromeTraceListenerTest {
+    public static class Example1 {
+        @BeforeClass
+        public static void setUpClass() throws InterruptedException {
+            Thread.sleep(5);
+        }
+
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+            throw new AssertionError("expected");
+        }
+    }
+
+    public static class Example2 {
+        @Test
+        public void one() {
+        }
+    }
+
+    @Test
+    public void traceContainsTestsChildrenAndSchedulerWaits() throws Exception {
+        ChromeTraceListener trace = new ChromeTraceListener(null);
+        JUnitCore core = new JUnitCore();
+        core.addListener(trace);
+        Result result = core.run(Request.classes(new ParallelComputer(true, true, trace),
+                Example1.class, Example2.class));
+        assertEquals(3, result.getRunCount());
+
+        StringWriter writer = new StringWriter();
+        trace.writeTo(writer);
+        String json = writer.toString();
+
+        assertTrue(json.startsWith("{\"traceEvents\":["));
+        assertThat(json, containsString("\"cat\":\"test\",\"name\":\"one("
+                + Example2.class.getName() + ")\""));
+        assertThat(json, containsString("\"args\":{\"result\":\"failed\"}"));
+        assertThat(json, containsString("\"cat\":\"child\",\"name\":\""
+                + Example1.class.getName() + "\""));
+        assertThat(json, containsString("\"name\":\"awaiting children of "
+                + Example1.class.getName() + "\""));
+        assertThat(json, containsString("\"name\":\"thread_name\""));
+    }
+
+    @Test
+    public void namesAreEscaped() throws Exception {
+        ChromeTraceListener trace = new ChromeTraceListener(null);
+        trace.testIgnored(Description.createTestDescription("a\"b", "c\\d"));
+
+        StringWriter writer = new StringWriter();
+        trace.writeTo(writer);
+
+        assertThat(writer.toString(), containsString("\"name\":\"c\\\\d(a\\\"b)\""));
+    }
+}
@@ -0,0 +1,70 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.experimental.IsolatedParallelComputer;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+
+public class IsolatedParallelComputerTest {
+    public static class SharedState {
+        static final AtomicInteger users = new AtomicInteger();
+    }
+
+    public static class FirstUser {
+        @Test
+        public void isOnlyUser() {
+            assertEquals(1, SharedState.users.incrementAndGet());
+        }
+    }
+
+    public static class SecondUser {
+        @Test
+        public void isOnlyUser() {
+            assertEquals(1, SharedState.users.incrementAndGet());
+        }
+
+        @Test
+        public void runsWithItsClassLoaderAsContextClassLoader() {
+            assertSame(getClass().getClassLoader(),
+                    Thread.currentThread().getContextClassLoader());
+        }
+    }
+
+    @Test
+    public void classesHaveTheirOwnStaticState() {
+        Result result = JUnitCore.runClasses(new IsolatedParallelComputer(false),
+                FirstUser.class, SecondUser.class);
+
+        assertEquals(3, result.getRunCount());
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void classesOfAGroupShareStaticState() {
+        Result result = JUnitCore.runClasses(new IsolatedParallelComputer(true, 2),
+                FirstUser.class, SecondUser.class);
+
+        assertEquals(1, result.getFailureCount());
+    }
+
+    @Test
+    public void isolatedClassesCanBeFiltered() {
+        Request request = Request.classes(new IsolatedParallelComputer(false),
+                FirstUser.class, SecondUser.class);
+
+        Result result = new JUnitCore().run(request.filterWith(
+                Filter.matchMethodDescription(
+                Description.createTestDescription(SecondUser.class, "isOnlyUser"))));
+
+        assertEquals(1, result.getRunCount());
+    }
+}
@@ -185,6 +185,85 @@ public class TemporaryFolderUsageTest {
         assertThat(tempDir, is(folder.getRoot().getParentFile()));
     }
 
+    @Test
+    public void parallelDeletionRemovesNestedFolders() throws IOException {
+        TemporaryFolder folder = TemporaryFolder.builder().parallelDeletion().build();
+        folder.create();
+        createTree(folder);
+
+        folder.delete();
+
+        assertFileDoesNotExist(folder.getRoot());
+    }
+
+    @Test
+    public void parallelDeletionRemovesSingleLargeFolder() throws IOException {
+        TemporaryFolder folder = TemporaryFolder.builder().parallelDeletion().build();
+        folder.create();
+        File subFolder = folder.newFolder("large", "nested");
+        for (int i = 0; i < 200; i++) {
+            assertTrue(new File(subFolder, "file" + i).createNewFile());
+        }
+
+        folder.delete();
+
+        assertFileDoesNotExist(folder.getRoot());
+    }
+
+    @Test
+    public void asynchronousDeletionEventuallyRemovesRootFolder() throws Exception {
+        TemporaryFolder folder = TemporaryFolder.builder().asynchronousDeletion().build();
+        folder.create();
+        createTree(folder);
+
+        folder.delete();
+
+        for (int i = 0; i < 100 && folder.getRoot().exists(); i++) {
+            Thread.sleep(50);
+        }
+        assertFileDoesNotExist(folder.getRoot());
+    }
+
+    @Test
+    public void asynchronousDeletionCannotBeAssured() {
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("assured deletion cannot be combined with asynchronous deletion");
+        TemporaryFolder.builder().asynchronousDeletion().assureDeletion().build();
+    }
+
+    @Test
+    public void preferMemoryBackedFolderCreatesUsableRootFolder() throws IOException {
+        TemporaryFolder folder = TemporaryFolder.builder().preferMemoryBackedFolder().build();
+        folder.create();
+        try {
+            assertFileExists(folder.newFile());
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test
+    public void parentFolderTakesPrecedenceOverMemoryBackedFolder() throws IOException {
+        File tempDir = createTemporaryFolder();
+        TemporaryFolder folder = TemporaryFolder.builder().parentFolder(tempDir)
+                .preferMemoryBackedFolder().build();
+        folder.create();
+        try {
+            assertThat(folder.getRoot().getParentFile(), is(tempDir));
+        } finally {
+            folder.delete();
+        }
+    }
+
+    private void createTree(TemporaryFolder folder) throws IOException {
+        for (int i = 0; i < 10; i++) {
+            File subFolder = folder.newFolder("folder" + i, "nested");
+            for (int j = 0; j < 10; j++) {
+                assertTrue(new File(subFolder, "file" + j).createNewFile());
+            }
+        }
+    }
+
     private File createTemporaryFolder() throws IOException {
         File tempDir = File.createTempFile("junit", "tempFolder");
         assertTrue("Unable to delete temporary file", tempDir.delete());
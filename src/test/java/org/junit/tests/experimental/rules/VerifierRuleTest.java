@@ -1,6 +1,7 @@
 package org.junit.tests.experimental.rules;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.experimental.results.PrintableResult.testResult;
@@ -12,6 +13,8 @@ import java.util.concurrent.Callable;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.results.PrintableResult;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
 import org.junit.rules.ErrorCollector;
 import org.junit.rules.Verifier;
 
@@ -125,6 +128,59 @@ public class VerifierRuleTest {
         assertThat(testResult, isSuccessful());
     }
 
+    public static class UsesErrorCollectorFromManyThreads {
+        @Rule
+        public ErrorCollector collector = new ErrorCollector();
+
+        @Test
+        public void example() throws Exception {
+            Thread[] threads = new Thread[8];
+            for (int i = 0; i < threads.length; i++) {
+                final int thread = i;
+                threads[i] = new Thread() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < 100; j++) {
+                            collector.checkThat("thread " + thread, j, is(-1));
+                        }
+                    }
+                };
+                threads[i].start();
+            }
+            for (Thread each : threads) {
+                each.join();
+            }
+        }
+    }
+
+    @Test
+    public void errorCollectorRecordsErrorsFromAllThreads() {
+        Result result = JUnitCore.runClasses(UsesErrorCollectorFromManyThreads.class);
+        assertEquals(800, result.getFailureCount());
+    }
+
+    public static class UsesBoundedErrorCollector {
+        @Rule
+        public ErrorCollector collector = new ErrorCollector(2);
+
+        @Test
+        public void example() {
+            collector.addError(new Throwable("first thing went wrong"));
+            collector.addError(new Throwable("second thing went wrong"));
+            collector.addError(new Throwable("third thing went wrong"));
+            collector.addError(new Throwable("fourth thing went wrong"));
+        }
+    }
+
+    @Test
+    public void boundedErrorCollectorSummarizesOmittedErrors() {
+        PrintableResult testResult = testResult(UsesBoundedErrorCollector.class);
+        assertThat(testResult, hasFailureContaining("first thing went wrong"));
+        assertThat(testResult, hasFailureContaining("second thing went wrong"));
+        assertThat(testResult, not(hasFailureContaining("third thing went wrong")));
+        assertThat(testResult, hasFailureContaining("2 more errors were not recorded (limit is 2)"));
+    }
+
     private static String sequence;
 
     public static class UsesVerifier {
@@ -8,11 +8,13 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.internal.runners.statements.FailOnTimeout.builder;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -193,4 +195,92 @@ public class FailOnTimeoutTest {
             }
         }
     }
+
+    @Test
+    public void sharedWatchdogRunsStatementOnCallingThread() throws Throwable {
+        final Thread[] evaluatingThread = new Thread[1];
+        builder().withTimeout(TIMEOUT, MILLISECONDS).withSharedWatchdog(true).build(
+                new Statement() {
+                    @Override
+                    public void evaluate() {
+                        evaluatingThread[0] = Thread.currentThread();
+                    }
+                }).evaluate();
+        assertSame(Thread.currentThread(), evaluatingThread[0]);
+    }
+
+    @Test
+    public void sharedWatchdogThrowsTestTimedOutException() throws Throwable {
+        FailOnTimeout sharedWatchdogTimeout = builder()
+                .withTimeout(TIMEOUT, MILLISECONDS).withSharedWatchdog(true).build(statement);
+        statement.waitDuration = DURATION_THAT_EXCEEDS_TIMEOUT;
+        try {
+            sharedWatchdogTimeout.evaluate();
+            fail("No exception was thrown when test timed out");
+        } catch (TestTimedOutException e) {
+            assertEquals("test timed out after 100 milliseconds", e.getMessage());
+        }
+        assertFalse("Interrupt was not cleared", Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void sharedWatchdogSendsUpExceptionThrownByStatement() throws Throwable {
+        RuntimeException exception = new RuntimeException();
+        FailOnTimeout sharedWatchdogTimeout = builder()
+                .withTimeout(TIMEOUT, MILLISECONDS).withSharedWatchdog(true).build(statement);
+        statement.nextException = exception;
+        try {
+            sharedWatchdogTimeout.evaluate();
+            fail("No exception was thrown");
+        } catch (RuntimeException e) {
+            assertSame(exception, e);
+        }
+    }
+
+    @Test
+    public void sharedWatchdogCapturesStackTraceAtDeadline() throws Throwable {
+        FailOnTimeout stuckTimeout = builder()
+                .withTimeout(TIMEOUT, MILLISECONDS).withSharedWatchdog(true).build(new StuckStatement());
+        try {
+            stuckTimeout.evaluate();
+            fail("Expected timeout exception");
+        } catch (TestTimedOutException timeoutException) {
+            boolean stackTraceContainsTheRealCauseOfTheTimeout = false;
+            for (StackTraceElement element : timeoutException.getStackTrace()) {
+                if ("theRealCauseOfTheTimeout".equals(element.getMethodName())) {
+                    stackTraceContainsTheRealCauseOfTheTimeout = true;
+                }
+            }
+            assertTrue(
+                    "Stack trace does not contain the real cause of the timeout",
+                    stackTraceContainsTheRealCauseOfTheTimeout);
+        }
+    }
+
+    @Test
+    public void sharedWatchdogDoesNotBlameThreadsStartedBeforeTheTest() throws Throwable {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        Thread busyThread = new Thread() {
+            @Override
+            public void run() {
+                while (running.get()) {
+                    atan(currentTimeMillis());
+                }
+            }
+        };
+        busyThread.start();
+        try {
+            FailOnTimeout timeout = builder().withTimeout(TIMEOUT, MILLISECONDS)
+                    .withSharedWatchdog(true).withLookingForStuckThread(true).build(statement);
+            statement.waitDuration = DURATION_THAT_EXCEEDS_TIMEOUT;
+            try {
+                timeout.evaluate();
+                fail("No exception was thrown when test timed out");
+            } catch (TestTimedOutException expected) {
+            }
+        } finally {
+            running.set(false);
+            busyThread.join();
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package org.junit.tests.junit3compatibility;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.ConcurrentJUnit4TestAdapterCache;
+import junit.framework.JUnit4TestAdapter;
+import junit.framework.TestResult;
+import org.junit.Test;
+import org.junit.runner.Description;
+
+public class ConcurrentJUnit4TestAdapterCacheTest {
+    public static class TwoTests {
+        @Test
+        public void first() {
+        }
+
+        @Test
+        public void second() {
+        }
+    }
+
+    @Test
+    public void returnsSameTestForSameDescription() {
+        ConcurrentJUnit4TestAdapterCache cache = new ConcurrentJUnit4TestAdapterCache();
+        Description description = Description.createTestDescription(TwoTests.class, "first");
+
+        junit.framework.Test test = cache.asTest(description);
+
+        assertEquals(1, cache.size());
+        assertSame(test, cache.asTest(description));
+    }
+
+    @Test
+    public void mapMethodsSeeCachedTests() {
+        ConcurrentJUnit4TestAdapterCache cache = new ConcurrentJUnit4TestAdapterCache();
+        Description first = Description.createTestDescription(TwoTests.class, "first");
+        Description second = Description.createTestDescription(TwoTests.class, "second");
+
+        junit.framework.Test test = cache.asTest(first);
+        cache.put(second, test);
+
+        assertTrue(cache.keySet().contains(first));
+        assertTrue(cache.values().contains(test));
+        assertEquals(2, cache.entrySet().size());
+        assertSame(test, cache.asTest(second));
+        cache.remove(first);
+        assertFalse(cache.containsKey(first));
+    }
+
+    @Test
+    public void releasesTestsThatAreNoLongerUsed() throws Exception {
+        ConcurrentJUnit4TestAdapterCache cache = new ConcurrentJUnit4TestAdapterCache();
+        cache.asTest(Description.createTestDescription(TwoTests.class, "first"));
+        junit.framework.Test second = cache.asTest(
+                Description.createTestDescription(TwoTests.class, "second"));
+
+        for (int i = 0; i < 100 && cache.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, cache.size());
+        assertSame(second, cache.asTest(Description.createTestDescription(TwoTests.class, "second")));
+    }
+
+    @Test
+    public void concurrentCallersShareOneTest() throws Exception {
+        final ConcurrentJUnit4TestAdapterCache cache = new ConcurrentJUnit4TestAdapterCache();
+        final Description description = Description.createTestDescription(TwoTests.class, "first");
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<junit.framework.Test>> futures = new ArrayList<Future<junit.framework.Test>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(new Callable<junit.framework.Test>() {
+                    public junit.framework.Test call() throws Exception {
+                        start.await();
+                        return cache.asTest(description);
+                    }
+                }));
+            }
+            start.countDown();
+            junit.framework.Test expected = futures.get(0).get();
+            for (Future<junit.framework.Test> each : futures) {
+                assertSame(expected, each.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void canBeUsedByAdapter() {
+        JUnit4TestAdapter adapter = new JUnit4TestAdapter(TwoTests.class,
+                new ConcurrentJUnit4TestAdapterCache());
+        TestResult result = new TestResult();
+
+        adapter.run(result);
+
+        assertEquals(2, result.runCount());
+        assertTrue(result.wasSuccessful());
+    }
+}
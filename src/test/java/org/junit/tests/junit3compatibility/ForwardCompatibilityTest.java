@@ -10,10 +10,12 @@ import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.Description;
 import org.junit.runner.RunWith;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
 import org.junit.runner.notification.RunNotifier;
 
 public class ForwardCompatibilityTest extends TestCase {
@@ -251,4 +253,42 @@ public class ForwardCompatibilityTest extends TestCase {
         junit.framework.Test adapter = new JUnit4TestAdapter(NoTests.class);
         assertEquals(NoTests.class.getName(), adapter.toString());
     }
+
+    public static class WithIgnoredTest {
+        @Test
+        public void run() {
+        }
+
+        @Ignore
+        @Test
+        public void ignored() {
+        }
+    }
+
+    public void testDescriptionIsSharedAndUnmodifiable() {
+        JUnit4TestAdapter adapter = new JUnit4TestAdapter(NewTest.class);
+        assertSame(adapter.getDescription(), adapter.getDescription());
+        try {
+            adapter.getDescription().addChild(
+                    Description.createTestDescription(NewTest.class, "added"));
+            fail("Description could be modified");
+        } catch (UnsupportedOperationException expected) {
+        }
+        assertEquals(1, adapter.getDescription().getChildren().size());
+    }
+
+    public void testDescriptionWithoutIgnoredTests() {
+        JUnit4TestAdapter adapter = new JUnit4TestAdapter(WithIgnoredTest.class);
+        Description description = adapter.getDescription();
+        assertEquals(1, description.getChildren().size());
+        assertEquals("run", description.getChildren().get(0).getMethodName());
+    }
+
+    public void testFilterUpdatesDescription() throws Exception {
+        JUnit4TestAdapter adapter = new JUnit4TestAdapter(WithIgnoredTest.class);
+        adapter.getDescription();
+        adapter.filter(Filter.matchMethodDescription(
+                Description.createTestDescription(WithIgnoredTest.class, "ignored")));
+        assertTrue(adapter.getDescription().getChildren().isEmpty());
+    }
 }
@@ -0,0 +1,118 @@
+package org.junit.tests.listening;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.internal.MetricsListener;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+
+public class MetricsListenerTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    public static class Example {
+        @Test
+        public void fast() {
+        }
+
+        @Test
+        public void slow() throws InterruptedException {
+            Thread.sleep(30);
+        }
+
+        @Test
+        public void failing() {
+            throw new AssertionError();
+        }
+    }
+
+    @Test
+    public void countsTestsAndFailures() throws IOException {
+        String metrics = run();
+
+        assertThat(metrics, containsString("junit_tests_started_total 3\n"));
+        assertThat(metrics, containsString("junit_tests_finished_total 3\n"));
+        assertThat(metrics, containsString("junit_tests_failed_total 1\n"));
+        assertThat(metrics, containsString("junit_tests_in_flight 0.0\n"));
+        assertThat(metrics, containsString("# TYPE junit_heap_used_bytes gauge\n"));
+    }
+
+    @Test
+    public void publishesDurationHistogramPerClass() throws IOException {
+        String metrics = run();
+
+        String label = "class=\"" + Example.class.getName() + "\"";
+        assertThat(metrics, containsString(
+                "junit_test_duration_seconds_bucket{" + label + ",le=\"+Inf\"} 3\n"));
+        assertThat(metrics, containsString(
+                "junit_test_duration_seconds_bucket{" + label + ",le=\"300.0\"} 3\n"));
+        assertThat(metrics, containsString(
+                "junit_test_duration_seconds_count{" + label + "} 3\n"));
+        assertThat(metrics, containsString(
+                "junit_test_duration_quantile_seconds{" + label + ",quantile=\"0.99\"} "));
+    }
+
+    @Test
+    public void writesMetricsFileWhenRunFinishes() throws IOException {
+        File file = new File(folder.getRoot(), "metrics.prom");
+        JUnitCore core = new JUnitCore();
+        core.addListener(new MetricsListener(file, 1, TimeUnit.HOURS));
+        core.run(Example.class);
+
+        assertTrue(file.exists());
+        assertThat(read(file), containsString("junit_tests_finished_total 3\n"));
+    }
+
+    @Test
+    public void writingMetricsDoesNotResetThroughput() throws IOException {
+        MetricsListener listener = new MetricsListener(
+                new File(folder.getRoot(), "metrics.prom"), 1, TimeUnit.HOURS);
+        Description description = Description.createTestDescription(Example.class, "fast");
+        listener.testStarted(description);
+        listener.testFinished(description);
+
+        listener.writeTo(new StringWriter());
+        StringWriter writer = new StringWriter();
+        listener.writeTo(writer);
+
+        assertThat(writer.toString(), not(containsString("junit_tests_per_second 0.0\n")));
+    }
+
+    private String run() throws IOException {
+        MetricsListener listener = new MetricsListener(
+                new File(folder.getRoot(), "metrics.prom"), 1, TimeUnit.HOURS);
+        JUnitCore core = new JUnitCore();
+        core.addListener(listener);
+        core.run(Example.class);
+        StringWriter writer = new StringWriter();
+        listener.writeTo(writer);
+        return writer.toString();
+    }
+
+    private static String read(File file) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+        } finally {
+            reader.close();
+        }
+        return sb.toString();
+    }
+}
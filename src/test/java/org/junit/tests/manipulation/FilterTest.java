@@ -1,10 +1,17 @@
 package org.junit.tests.manipulation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
 
 import org.junit.Test;
 import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
 import org.junit.runner.manipulation.Filter;
 
 public class FilterTest {
@@ -47,4 +54,40 @@ public class FilterTest {
         assertSame(a, Filter.ALL.intersect(a));
         assertSame(Filter.ALL, Filter.ALL.intersect(Filter.ALL));
     }
+
+    public static class ThreeTests {
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+        }
+
+        @Test
+        public void three() {
+        }
+    }
+
+    @Test
+    public void matchMethodDescriptionsRunsOnlyListedMethods() {
+        Filter filter = Filter.matchMethodDescriptions(Arrays.asList(
+                Description.createTestDescription(ThreeTests.class, "one"),
+                Description.createTestDescription(ThreeTests.class, "three")));
+
+        Result result = new JUnitCore().run(Request.aClass(ThreeTests.class).filterWith(filter));
+
+        assertEquals(2, result.getRunCount());
+        assertEquals("2 methods", filter.describe());
+    }
+
+    @Test
+    public void matchMethodDescriptionsSkipsOtherClasses() {
+        Filter filter = Filter.matchMethodDescriptions(Arrays.asList(
+                Description.createTestDescription(ThreeTests.class, "one")));
+
+        assertFalse(filter.shouldRun(Request.aClass(FilterTest.class).getRunner().getDescription()));
+        assertTrue(filter.shouldRun(Request.classes(FilterTest.class, ThreeTests.class)
+                .getRunner().getDescription()));
+    }
 }
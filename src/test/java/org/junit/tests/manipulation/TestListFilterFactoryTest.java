@@ -0,0 +1,47 @@
+package org.junit.tests.manipulation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.TestListFilterFactory;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+import org.junit.tests.manipulation.FilterTest.ThreeTests;
+
+public class TestListFilterFactoryTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void runsTestsListedInFile() throws Exception {
+        File tests = folder.newFile("tests.txt");
+        Writer writer = new FileWriter(tests);
+        writer.write("# failed tests\n");
+        writer.write("one(" + ThreeTests.class.getName() + ")\n");
+        writer.write("\n");
+        writer.write(ThreeTests.class.getName() + "#three\n");
+        writer.close();
+        Filter filter = new TestListFilterFactory().createFilter(
+                new FilterFactoryParams(Description.EMPTY, tests.getPath()));
+
+        Result result = new JUnitCore().run(Request.aClass(ThreeTests.class).filterWith(filter));
+
+        assertEquals(2, result.getRunCount());
+    }
+
+    @Test(expected = TestListFilterFactory.FilterNotCreatedException.class)
+    public void missingFileIsReported() throws Exception {
+        new TestListFilterFactory().createFilter(new FilterFactoryParams(Description.EMPTY,
+                new File(folder.getRoot(), "missing.txt").getPath()));
+    }
+}
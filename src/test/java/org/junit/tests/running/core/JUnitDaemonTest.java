@@ -0,0 +1,134 @@
+package org.junit.tests.running.core;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.FilterFactory;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.JUnitDaemon;
+import org.junit.runner.manipulation.Filter;
+
+public class JUnitDaemonTest {
+    private JUnitDaemon daemon;
+    private Thread daemonThread;
+
+    public static class CountsRuns {
+        private static int runs = 0;
+
+        @Test
+        public void runsOncePerClassLoader() {
+            System.out.println("run " + ++runs);
+            assertEquals(1, runs);
+        }
+    }
+
+    public static class Fails {
+        @Test
+        public void fails() {
+            throw new AssertionError("expected failure");
+        }
+    }
+
+    public static class ExcludeFails implements FilterFactory {
+        public Filter createFilter(FilterFactoryParams params) {
+            return new Filter() {
+                @Override
+                public boolean shouldRun(Description description) {
+                    return !Fails.class.getName().equals(description.getClassName());
+                }
+
+                @Override
+                public String describe() {
+                    return "exclude " + Fails.class.getName();
+                }
+            };
+        }
+    }
+
+    @Before
+    public void startDaemon() throws IOException {
+        daemon = new JUnitDaemon(0);
+        daemonThread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    daemon.serve();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        daemonThread.start();
+    }
+
+    @After
+    public void stopDaemon() throws Exception {
+        daemon.stop();
+        daemonThread.join();
+    }
+
+    @Test
+    public void eachRequestLoadsTestClassesAgain() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertEquals(0, send(output, CountsRuns.class.getName()));
+        assertEquals(0, send(output, CountsRuns.class.getName()));
+
+        assertThat(output.toString(), containsString("run 1"));
+        assertThat(output.toString(), containsString("OK (1 test)"));
+    }
+
+    @Test
+    public void reportsFailures() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertEquals(1, send(output, Fails.class.getName()));
+
+        assertThat(output.toString(), containsString("expected failure"));
+    }
+
+    @Test
+    public void appliesFilterSpecs() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertEquals(0, send(output, "--filter=" + ExcludeFails.class.getName(),
+                CountsRuns.class.getName(), Fails.class.getName()));
+
+        assertThat(output.toString(), containsString("OK (1 test)"));
+    }
+
+    @Test
+    public void survivesClientsThatDisconnect() throws IOException {
+        Socket socket = new Socket(InetAddress.getByName(null), daemon.getPort());
+        socket.getOutputStream().write("no terminator".getBytes());
+        socket.close();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertEquals(0, send(output, CountsRuns.class.getName()));
+    }
+
+    @Test
+    public void stopRequestStopsDaemon() throws Exception {
+        send(new ByteArrayOutputStream(), "--stop");
+
+        daemonThread.join();
+    }
+
+    private int send(ByteArrayOutputStream output, String... args) throws IOException {
+        List<String> request = asList(args);
+        return JUnitDaemon.send(daemon.getPort(), request, new PrintStream(output, true));
+    }
+}
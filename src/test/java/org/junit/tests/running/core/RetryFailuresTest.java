@@ -0,0 +1,265 @@
+package org.junit.tests.running.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+public class RetryFailuresTest {
+    private static int attempts;
+    private static List<Thread> threads;
+    private static List<String> log;
+
+    public static class FailsOnce {
+        @Test
+        public void failsOnce() {
+            threads.add(Thread.currentThread());
+            if (++attempts == 1) {
+                throw new AssertionError("first attempt");
+            }
+        }
+
+        @Test
+        public void passes() {
+        }
+    }
+
+    public static class AlwaysFails {
+        @Test
+        public void fails() {
+            attempts++;
+            throw new AssertionError("attempt " + attempts);
+        }
+    }
+
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class UsesClassFixture {
+        private static String fixture;
+
+        @BeforeClass
+        public static void setUpFixture() {
+            fixture = "fixture";
+            log.add("BeforeClass");
+        }
+
+        @AfterClass
+        public static void tearDownFixture() {
+            fixture = null;
+            log.add("AfterClass");
+        }
+
+        @Test
+        public void a_flaky() {
+            log.add("a_flaky " + attempts);
+            if (++attempts == 1) {
+                throw new AssertionError("first attempt");
+            }
+        }
+
+        @Test
+        public void b_usesFixture() {
+            log.add("b_usesFixture " + fixture);
+            assertEquals("fixture", fixture);
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class AmbiguousNames {
+        @Parameters(name = "same")
+        public static List<Object> parameters() {
+            return Arrays.<Object>asList(1, 2);
+        }
+
+        public AmbiguousNames(int parameter) {
+        }
+
+        @Test
+        public void fails() {
+            attempts++;
+            throw new AssertionError();
+        }
+    }
+
+    public static class StopsAfterFailure extends Runner {
+        private final Description test;
+
+        public StopsAfterFailure(Class<?> testClass) {
+            test = Description.createTestDescription(testClass, "fails");
+        }
+
+        @Override
+        public Description getDescription() {
+            Description description = Description.createSuiteDescription("stops");
+            description.addChild(test);
+            return description;
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            notifier.fireTestStarted(test);
+            notifier.fireTestFailure(new Failure(test, new AssertionError()));
+            notifier.pleaseStop();
+            notifier.fireTestFinished(test);
+        }
+    }
+
+    @RunWith(StopsAfterFailure.class)
+    public static class Stopped {
+    }
+
+    @Before
+    public void reset() {
+        attempts = 0;
+        threads = new ArrayList<Thread>();
+        log = new ArrayList<String>();
+    }
+
+    @Test
+    public void retriesDoNotInterfereWithClassFixturesOfTheRun() {
+        Result result = new JUnitCore().run(
+                Request.aClass(UsesClassFixture.class).retryFailures(1));
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(1, result.getFlakyCount());
+        assertEquals(Arrays.asList("BeforeClass", "a_flaky 0", "b_usesFixture fixture",
+                "AfterClass", "BeforeClass", "a_flaky 1", "AfterClass"), log);
+    }
+
+    @Test
+    public void flakyTestPassesOnRetry() {
+        final List<Failure> earlierFailures = new ArrayList<Failure>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testPassedOnRetry(Description description, List<Failure> failures) {
+                earlierFailures.addAll(failures);
+            }
+        });
+
+        Result result = core.run(Request.aClass(FailsOnce.class).retryFailures(2));
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(2, result.getRunCount());
+        assertEquals(1, result.getFlakyCount());
+        assertEquals(2, attempts);
+        assertEquals(1, earlierFailures.size());
+        assertEquals("first attempt", earlierFailures.get(0).getMessage());
+    }
+
+    @Test
+    public void failingTestReportsFirstFailureAfterRetries() {
+        final List<Description> retried = new ArrayList<Description>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testRetried(Description description, long runTime) {
+                retried.add(description);
+            }
+        });
+
+        Result result = core.run(Request.aClass(AlwaysFails.class).retryFailures(2));
+
+        assertEquals(3, attempts);
+        assertEquals(2, retried.size());
+        assertEquals(1, result.getFailureCount());
+        assertEquals("attempt 1", result.getFailures().get(0).getMessage());
+        assertEquals(0, result.getFlakyCount());
+        assertTrue(result.getRetryTime() >= 0);
+    }
+
+    @Test
+    public void retriesOnNewThreads() {
+        Result result = new JUnitCore().run(
+                Request.aClass(FailsOnce.class).retryFailuresOnNewThreads(1));
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(2, threads.size());
+        assertNotSame(threads.get(0), threads.get(1));
+    }
+
+    @Test
+    public void noRetriesReportsFailures() {
+        Result result = new JUnitCore().run(Request.aClass(FailsOnce.class).retryFailures(0));
+
+        assertEquals(1, result.getFailureCount());
+        assertEquals(1, attempts);
+    }
+
+    @Test
+    public void retriesBeforeTestFinishes() {
+        final List<String> events = new ArrayList<String>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                events.add("started");
+            }
+
+            @Override
+            public void testRetried(Description description, long runTime) {
+                events.add("retried");
+            }
+
+            @Override
+            public void testFailure(Failure failure) {
+                events.add("failure");
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                events.add("finished");
+            }
+        });
+
+        core.run(Request.aClass(AlwaysFails.class).retryFailures(1));
+
+        assertEquals(Arrays.asList("started", "retried", "failure", "finished"), events);
+    }
+
+    @Test
+    public void testsWithAmbiguousNamesAreNotRetried() {
+        Result result = new JUnitCore().run(
+                Request.aClass(AmbiguousNames.class).retryFailures(2));
+
+        assertEquals(2, attempts);
+        assertEquals(2, result.getFailureCount());
+    }
+
+    @Test
+    public void stoppedRunsAreNotRetried() {
+        final List<Description> retried = new ArrayList<Description>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testRetried(Description description, long runTime) {
+                retried.add(description);
+            }
+        });
+
+        Result result = core.run(Request.aClass(Stopped.class).retryFailures(2));
+
+        assertTrue(retried.isEmpty());
+        assertEquals(1, result.getFailureCount());
+    }
+}
@@ -11,6 +11,7 @@ import static org.junit.Assert.fail;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import junit.framework.JUnit4TestAdapter;
@@ -248,6 +249,75 @@ public class TimeoutTest {
         assertThat(exception.getMessage(), not(containsString("Appears to be stuck")));
     }
 
+    public static class InfiniteLoopWithThreadDiagnosisTest {
+        @Rule
+        public TestRule globalTimeout = Timeout.builder()
+            .withTimeout(100, TimeUnit.MILLISECONDS)
+            .withThreadDiagnosis(true)
+            .build();
+
+        @Test
+        public void failure() throws Exception {
+            (new InfiniteLoopMultithreaded()).failure(false);
+        }
+    }
+
+    @Test
+    public void timeoutFailureWithThreadDiagnosis() throws Exception {
+        Result result = JUnitCore.runClasses(InfiniteLoopWithThreadDiagnosisTest.class);
+        assertEquals(2, result.getFailureCount());
+        Throwable stuckThreadException = result.getFailures().get(1).getException();
+        assertThat(stuckThreadException.getMessage(),
+                containsString("Appears to be stuck in thread timeout-thr2"));
+        assertThat(stackForException(stuckThreadException), containsString("ThreadTest.run"));
+    }
+
+    public static class DeadlockWithThreadDiagnosisTest {
+        @Rule
+        public TestRule globalTimeout = Timeout.builder()
+            .withTimeout(100, TimeUnit.MILLISECONDS)
+            .withThreadDiagnosis(true)
+            .build();
+
+        private final Object first = new Object();
+        private final Object second = new Object();
+
+        @Test
+        public void failure() throws Exception {
+            final CountDownLatch secondLocked = new CountDownLatch(1);
+            Thread other = new Thread("timeout-deadlock") {
+                @Override
+                public void run() {
+                    synchronized (second) {
+                        secondLocked.countDown();
+                        synchronized (first) {
+                        }
+                    }
+                }
+            };
+            other.setDaemon(true);
+            synchronized (first) {
+                other.start();
+                secondLocked.await();
+                synchronized (second) {
+                }
+            }
+        }
+    }
+
+    @Test
+    public void timeoutFailureWithDeadlock() throws Exception {
+        Result result = JUnitCore.runClasses(DeadlockWithThreadDiagnosisTest.class);
+        assertEquals(3, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("test timed out after 100 milliseconds"));
+        String deadlockMessages = result.getFailures().get(1).getMessage()
+                + result.getFailures().get(2).getMessage();
+        assertThat(deadlockMessages, containsString(
+                "Deadlocked thread timeout-deadlock is waiting for java.lang.Object@"));
+        assertThat(deadlockMessages, containsString("held by thread timeout-deadlock"));
+    }
+
     @Test
     public void compatibility() {
         TestResult result = new TestResult();